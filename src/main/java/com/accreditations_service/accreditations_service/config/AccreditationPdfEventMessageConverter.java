@@ -0,0 +1,104 @@
+package com.accreditations_service.accreditations_service.config;
+
+import com.accreditations_service.accreditations_service.dtos.AccreditationDataForPdf;
+import com.accreditations_service.accreditations_service.dtos.AccreditationPdfEvent;
+import com.accreditations_service.accreditations_service.enums.EventWireFormat;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes AccreditationPdfEvent in the compact wire format (version 2). The receipt subject and body text are
+ * the same for every event, so they are replaced by a template id that the PDF consumer resolves. The
+ * remaining fields use short names and are written straight to a JsonGenerator, without reflection or type
+ * headers. The event type and version travel as message headers. With format LEGACY, and for any other
+ * payload, the delegate converter is used as before.
+ * <p>
+ * LEGACY is the default: switch to COMPACT only once the PDF consumer reads version 2. The smaller body is
+ * checked in the tests, but the serialization time against LEGACY has not been measured.
+ *
+ * <pre>{"v":2,"tpl":"accreditation-receipt","to":"…","id":1,"sp":"…","uid":100,"amt":150.75,"rd":"…","ca":"…"}</pre>
+ */
+public class AccreditationPdfEventMessageConverter implements MessageConverter {
+
+    public static final int COMPACT_VERSION = 2;
+    public static final String EVENT_TYPE = "accreditation-pdf";
+    public static final String RECEIPT_TEMPLATE_ID = "accreditation-receipt";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int ESTIMATED_SIZE = 256;
+
+    private final MessageConverter delegate;
+
+    private final EventWireFormat format;
+
+    public AccreditationPdfEventMessageConverter(MessageConverter delegate, EventWireFormat format) {
+        this.delegate = delegate;
+        this.format = format;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) throws MessageConversionException {
+        if (format != EventWireFormat.COMPACT || !(object instanceof AccreditationPdfEvent pdfEvent)) {
+            return delegate.toMessage(object, messageProperties);
+        }
+        messageProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        messageProperties.setContentEncoding("UTF-8");
+        messageProperties.setHeader(Constants.EVENT_TYPE_HEADER, EVENT_TYPE);
+        messageProperties.setHeader(Constants.EVENT_VERSION_HEADER, COMPACT_VERSION);
+        byte[] body = writeCompact(pdfEvent);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        return delegate.fromMessage(message);
+    }
+
+    private static byte[] writeCompact(AccreditationPdfEvent pdfEvent) {
+        AccreditationDataForPdf data = pdfEvent.getAccreditationData();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ESTIMATED_SIZE);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeNumberField("v", COMPACT_VERSION);
+            generator.writeStringField("tpl", RECEIPT_TEMPLATE_ID);
+            generator.writeStringField("to", pdfEvent.getTo());
+            if (data != null) {
+                writeNumber(generator, "id", data.getAccreditationId());
+                generator.writeStringField("sp", data.getSalePointName());
+                writeNumber(generator, "uid", data.getUserId());
+                if (data.getAmount() != null) {
+                    generator.writeNumberField("amt", data.getAmount());
+                }
+                writeDateTime(generator, "rd", data.getReceiptDate());
+                writeDateTime(generator, "ca", data.getCreatedAt());
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new MessageConversionException(Constants.EVENT_SERIALIZATION_FAILED, e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeNumber(JsonGenerator generator, String field, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator generator, String field, LocalDateTime value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+}
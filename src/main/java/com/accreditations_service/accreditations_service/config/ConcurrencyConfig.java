@@ -0,0 +1,24 @@
+package com.accreditations_service.accreditations_service.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ConcurrencyConfig {
+
+    // One virtual thread per remote lookup. Each task runs with the SecurityContext of the thread that submitted
+    // it, so JwtForwardingInterceptor still forwards the caller's token, and with its current observation, so the
+    // outgoing request joins the caller's trace instead of starting a new one
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService accreditationLookupExecutor() {
+        return ContextExecutorService.wrap(
+                new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor()),
+                ContextSnapshotFactory.builder().build());
+    }
+}
@@ -1,14 +1,20 @@
 package com.accreditations_service.accreditations_service.config;
 
+import com.accreditations_service.accreditations_service.dtos.AccreditationPdfEvent;
+import com.accreditations_service.accreditations_service.enums.EventWireFormat;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@Slf4j
 public class RabbitMQConfig {
 
     public static final String EXCHANGE_NAME = "user-exchange";
@@ -19,20 +25,31 @@ public class RabbitMQConfig {
         return new TopicExchange(EXCHANGE_NAME);
     }
 
+    // Only our own DTOs may be instantiated from the __TypeId__ header of legacy messages
     @Bean
-    public Jackson2JsonMessageConverter messageConverter() {
-        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    public AccreditationPdfEventMessageConverter messageConverter(@Value("${accreditations.events.format:LEGACY}") EventWireFormat format) {
+        Jackson2JsonMessageConverter legacyConverter = new Jackson2JsonMessageConverter();
         DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
-        typeMapper.setTrustedPackages("*");
-        converter.setJavaTypeMapper(typeMapper);
-        return converter;
+        typeMapper.setTrustedPackages(AccreditationPdfEvent.class.getPackageName());
+        legacyConverter.setJavaTypeMapper(typeMapper);
+        return new AccreditationPdfEventMessageConverter(legacyConverter, format);
     }
 
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, Jackson2JsonMessageConverter messageConverter) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, AccreditationPdfEventMessageConverter messageConverter,
+                                         @Value("${accreditations.events.compression.enabled:false}") boolean compressionEnabled,
+                                         @Value("${accreditations.events.compression.threshold:1024}") int compressionThreshold) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(messageConverter);
         rabbitTemplate.setExchange(EXCHANGE_NAME);
+        if (compressionEnabled) {
+            rabbitTemplate.setBeforePublishPostProcessors(new ThresholdCompressingPostProcessor(compressionThreshold));
+        }
+        // Unroutable messages come back instead of being dropped. Confirms are correlated (see
+        // spring.rabbitmq.publisher-confirm-type), and a return is also recorded on the message's CorrelationData
+        rabbitTemplate.setMandatory(true);
+        rabbitTemplate.setReturnsCallback(returned -> log.warn(Constants.PUBLISHER_RETURNED_LOG,
+                returned.getReplyCode(), returned.getReplyText(), returned.getRoutingKey()));
         return rabbitTemplate;
     }
 }
@@ -0,0 +1,46 @@
+package com.accreditations_service.accreditations_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Range of receipt dates a new accreditation can have. Creation rejects receipt dates outside it, so none
+ * lands in the default partition (see V5 migration). Listings and the export start at its lower bound so the
+ * planner prunes older partitions, which hides live rows older than that bound (see AccreditationRepository);
+ * rows created before the window existed may lie outside it, so lookups by id do not use it.
+ * <p>
+ * The upper bound is now plus a small clock skew. The lower bound is the archival horizon plus a grace period
+ * covering a late or capped archival run; without archival rows never leave, so there is no lower bound.
+ */
+@Component
+public class ReceiptDateWindow {
+
+    private static final LocalDateTime UNBOUNDED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final Duration maxAge;
+
+    private final Duration maxFutureSkew;
+
+    public ReceiptDateWindow(@Value("${accreditations.archival.enabled:false}") boolean archivalEnabled,
+                             @Value("${accreditations.archival.horizon:730d}") Duration archivalHorizon,
+                             @Value("${accreditations.receipt-date.archival-grace:30d}") Duration archivalGrace,
+                             @Value("${accreditations.receipt-date.max-future-skew:5m}") Duration maxFutureSkew) {
+        this.maxAge = archivalEnabled ? archivalHorizon.plus(archivalGrace) : null;
+        this.maxFutureSkew = maxFutureSkew;
+    }
+
+    public LocalDateTime from() {
+        return (maxAge == null) ? UNBOUNDED : LocalDateTime.now().minus(maxAge);
+    }
+
+    public LocalDateTime to() {
+        return LocalDateTime.now().plus(maxFutureSkew);
+    }
+
+    public boolean contains(LocalDateTime receiptDate) {
+        return !receiptDate.isBefore(from()) && !receiptDate.isAfter(to());
+    }
+}
@@ -0,0 +1,21 @@
+package com.accreditations_service.accreditations_service.config;
+
+import com.accreditations_service.accreditations_service.interceptors.ReadYourWritesInterceptor;
+import com.accreditations_service.accreditations_service.services.ReadYourWritesService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ReadYourWritesService readYourWritesService;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesService))
+                .addPathPatterns("/api/accreditations/**");
+    }
+}
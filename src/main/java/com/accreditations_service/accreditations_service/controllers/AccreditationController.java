@@ -1,10 +1,24 @@
 package com.accreditations_service.accreditations_service.controllers;
 
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchResultDTO;
 import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationPageDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationRequestStatusDTO;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationBatchRequest;
 import com.accreditations_service.accreditations_service.dtos.CreateAccreditationRequest;
+import com.accreditations_service.accreditations_service.dtos.PeriodSummaryDTO;
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
 import com.accreditations_service.accreditations_service.exceptions.UserException;
+import com.accreditations_service.accreditations_service.services.AccreditationExportService;
+import com.accreditations_service.accreditations_service.services.AccreditationIngestionService;
 import com.accreditations_service.accreditations_service.services.AccreditationService;
+import com.accreditations_service.accreditations_service.services.AccreditationStatisticsService;
+import com.accreditations_service.accreditations_service.services.IdempotencyService;
+import com.accreditations_service.accreditations_service.services.SalePointAggregateService;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import com.accreditations_service.accreditations_service.utils.ETagUtils;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,14 +27,21 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Set;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -32,17 +53,99 @@ public class AccreditationController {
 
     private final AccreditationService accreditationService;
 
-    @Operation(summary = "Get all accreditations", description = "Returns all accreditations stored in the system")
+    private final AccreditationExportService accreditationExportService;
+
+    private final AccreditationStatisticsService accreditationStatisticsService;
+
+    private final SalePointAggregateService salePointAggregateService;
+
+    private final AccreditationIngestionService accreditationIngestionService;
+
+    private final IdempotencyService idempotencyService;
+
+    @Value("${accreditations.http-cache.max-age:60s}")
+    private Duration cacheMaxAge;
+
+    @Operation(summary = "Get all accreditations", description = "Returns a page of accreditations ordered by descending ID, which is roughly newest first: IDs are reserved in blocks per instance, so concurrent creations on different instances may interleave. Use the returned nextCursor to fetch the following page")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "List of all accreditations",
+            @ApiResponse(responseCode = "200", description = "Page of accreditations",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = AccreditationDTO.class))),
+                            schema = @Schema(implementation = AccreditationPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
     @GetMapping("/admin")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<Set<AccreditationDTO>> getAllAccreditations() {
-        return accreditationService.getAllAccreditations();
+    public ResponseEntity<AccreditationPageDTO> getAllAccreditations(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer size,
+                                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ResponseEntity<AccreditationPageDTO> page = accreditationService.getAllAccreditations(cursor, size, ifNoneMatch);
+        return withCacheHeaders(page, page.getHeaders().getETag());
+    }
+
+
+    @Operation(summary = "Export all accreditations", description = "Streams every accreditation ordered by ID as NDJSON or CSV")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Accreditations export",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/admin/export")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAccreditations(@RequestParam(defaultValue = "ndjson") String format) {
+        return accreditationExportService.exportAccreditations(format);
+    }
+
+
+    @Operation(summary = "Get accreditation totals by sale point", description = "Returns count, total, min, average and max amount per sale point for receipt dates between from and to (inclusive)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Totals per sale point",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = SalePointSummaryDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/admin/stats/sale-points")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<List<SalePointSummaryDTO>> getSalePointSummaries(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return accreditationStatisticsService.getSalePointSummaries(from, to);
+    }
+
+
+    @Operation(summary = "Get live accreditation totals by sale point", description = "Returns all-time count, total, min, average and max amount per sale point from in-memory counters, without querying the database. Archived accreditations are included; soft-deleted ones are not")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Live totals per sale point",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = SalePointSummaryDTO.class)))),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/admin/stats/sale-points/live")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<List<SalePointSummaryDTO>> getLiveSalePointSummaries() {
+        return salePointAggregateService.getLiveSalePointSummaries();
+    }
+
+
+    @Operation(summary = "Get accreditation totals by period", description = "Returns count, total, min, average and max amount per day or month of receipt date between from and to (inclusive)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Totals per period",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = PeriodSummaryDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range or granularity",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/admin/stats/periods")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<List<PeriodSummaryDTO>> getPeriodSummaries(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                     @RequestParam(defaultValue = "day") String granularity) {
+        return accreditationStatisticsService.getPeriodSummaries(from, to, granularity);
     }
 
 
@@ -57,8 +160,13 @@ public class AccreditationController {
     })
     @GetMapping("/admin/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<AccreditationDTO> getAccreditationById(@PathVariable Long id) {
-        return accreditationService.getAccreditationById(id);
+    public ResponseEntity<AccreditationDTO> getAccreditationById(@PathVariable Long id,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = accreditationService.getAccreditationETag(id);
+        if (ETagUtils.matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        return withCacheHeaders(accreditationService.getAccreditationById(id), eTag);
     }
 
 
@@ -75,21 +183,38 @@ public class AccreditationController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<AccreditationDTO> getAccreditationByIdForUser(@PathVariable long id, Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated() || !(authentication.getPrincipal() instanceof Jwt)) {
-            throw new UserException("Usuario no autenticado o token inválido.", HttpStatus.UNAUTHORIZED);
-        }
-        Jwt jwtPrincipal = (Jwt) authentication.getPrincipal();
-        String userIdString = jwtPrincipal.getClaimAsString("id");
-        if (userIdString == null) {
-            throw new UserException("Información de usuario (ID) no encontrada en el token.", HttpStatus.BAD_REQUEST);
-        }
-        Long userId = Long.parseLong(userIdString);
+        Long userId = getAuthenticatedUserId(authentication);
         log.info("Usuario ID: {} solicitando acreditación ID: {}", userId, id);
-        return accreditationService.getAccreditationByIdUser(userId, id);
+        // Ownership has to be checked first; a matching If-None-Match then yields a 304 without writing the body
+        return withCacheHeaders(accreditationService.getAccreditationByIdUser(userId, id), ETagUtils.forAccreditation(id));
     }
 
 
-    @Operation(summary = "Create a new accreditation", description = "Creates a new accreditation for a user, given the sale point ID and amount")
+    @Operation(summary = "Get my accreditations", description = "Returns a page of the authenticated user's accreditations ordered by descending ID, which is roughly newest first: IDs are reserved in blocks per instance, so concurrent creations on different instances may interleave. Use the returned nextCursor to fetch the following page")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of the user's accreditations",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AccreditationPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/me")
+    public ResponseEntity<AccreditationPageDTO> getMyAccreditations(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                    Authentication authentication) {
+        Long userId = getAuthenticatedUserId(authentication);
+        log.info("Usuario ID: {} solicitando sus acreditaciones.", userId);
+        ResponseEntity<AccreditationPageDTO> page = accreditationService.getAccreditationsByUser(userId, cursor, size, ifNoneMatch);
+        return withCacheHeaders(page, page.getHeaders().getETag());
+    }
+
+
+    @Operation(summary = "Create a new accreditation", description = "Creates a new accreditation for a user, given the sale point ID and amount. "
+            + "Retries sent with the same Idempotency-Key and the same body return the accreditation created by the first attempt")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Accreditation created successfully",
                     content = @Content(mediaType = "application/json",
@@ -98,10 +223,80 @@ public class AccreditationController {
                     content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "400", description = "Bad request, invalid data",
                     content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still in progress",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "422", description = "The Idempotency-Key was already used with a different request body",
+                    content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
     @PostMapping
-    public ResponseEntity<AccreditationDTO> createAccreditation(@RequestBody CreateAccreditationRequest newAccreditation, Authentication authentication) {
+    public ResponseEntity<AccreditationDTO> createAccreditation(@RequestBody CreateAccreditationRequest newAccreditation,
+                                                                @RequestHeader(value = Constants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                                Authentication authentication) {
+        String email = getAuthenticatedEmail(authentication);
+        log.info("Usuario email: {} creando acreditación.", email);
+        if (idempotencyKey == null) {
+            return accreditationService.createAccreditation(email, newAccreditation);
+        }
+        Long userId = getAuthenticatedUserId(authentication);
+        return idempotencyService.createAccreditationOnce(userId, idempotencyKey, newAccreditation,
+                () -> accreditationService.createAccreditation(email, newAccreditation));
+    }
+
+    @Operation(summary = "Create accreditations in bulk", description = "Creates every valid accreditation of the batch for the authenticated user and reports the outcome of each item by its position in the request")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "All accreditations created successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AccreditationBatchResultDTO.class))),
+            @ApiResponse(responseCode = "207", description = "Some accreditations could not be created, see the per-item results",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AccreditationBatchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request, empty or too large batch",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<AccreditationBatchResultDTO> createAccreditations(@RequestBody CreateAccreditationBatchRequest batchRequest, Authentication authentication) {
+        String email = getAuthenticatedEmail(authentication);
+        log.info("Usuario email: {} creando acreditaciones por lote.", email);
+        return accreditationService.createAccreditations(email, batchRequest);
+    }
+
+    @Operation(summary = "Accept an accreditation for asynchronous creation", description = "Validates the request and queues it for creation in the background. Poll the returned Location for the outcome")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Accreditation request accepted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AccreditationRequestStatusDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request, invalid data",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "429", description = "Too many requests pending, retry later",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "503", description = "Asynchronous creation is not available",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/async")
+    public ResponseEntity<AccreditationRequestStatusDTO> submitAccreditation(@RequestBody CreateAccreditationRequest newAccreditation, Authentication authentication) {
+        String email = getAuthenticatedEmail(authentication);
+        Long userId = getAuthenticatedUserId(authentication);
+        log.info("Usuario email: {} encolando acreditación.", email);
+        return accreditationIngestionService.submitAccreditation(email, userId, newAccreditation);
+    }
+
+    @Operation(summary = "Get the status of an asynchronous accreditation request", description = "Returns whether the request is still pending, was created (with the accreditation) or failed (with the reason). The status is only known to the instance that accepted the request, so behind a load balancer this call needs sticky routing")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Request status",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AccreditationRequestStatusDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Request not found, expired or accepted by another instance",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/requests/{requestId}")
+    public ResponseEntity<AccreditationRequestStatusDTO> getAccreditationRequestStatus(@PathVariable String requestId, Authentication authentication) {
+        Long userId = getAuthenticatedUserId(authentication);
+        return accreditationIngestionService.getRequestStatus(userId, requestId);
+    }
+
+    private String getAuthenticatedEmail(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated() || !(authentication.getPrincipal() instanceof Jwt)) {
             throw new UserException("Usuario no autenticado o token inválido.", HttpStatus.UNAUTHORIZED);
         }
@@ -110,7 +305,36 @@ public class AccreditationController {
         if (email == null) {
             throw new UserException("Información de usuario (email) no encontrada en el token.", HttpStatus.BAD_REQUEST);
         }
-        log.info("Usuario email: {} creando acreditación.", email);
-        return accreditationService.createAccreditation(email, newAccreditation);
+        return email;
+    }
+
+    private Long getAuthenticatedUserId(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated() || !(authentication.getPrincipal() instanceof Jwt)) {
+            throw new UserException("Usuario no autenticado o token inválido.", HttpStatus.UNAUTHORIZED);
+        }
+        Jwt jwtPrincipal = (Jwt) authentication.getPrincipal();
+        String userIdString = jwtPrincipal.getClaimAsString("id");
+        if (userIdString == null) {
+            throw new UserException("Información de usuario (ID) no encontrada en el token.", HttpStatus.BAD_REQUEST);
+        }
+        return Long.parseLong(userIdString);
+    }
+
+    // must-revalidate lets the gateway store authenticated responses; Vary keeps them per user
+    private <T> ResponseEntity<T> withCacheHeaders(ResponseEntity<T> response, String eTag) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(eTag)
+                .cacheControl(CacheControl.maxAge(cacheMaxAge).mustRevalidate())
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(response.getBody());
+    }
+
+    private <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(CacheControl.maxAge(cacheMaxAge).mustRevalidate())
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .build();
     }
 }
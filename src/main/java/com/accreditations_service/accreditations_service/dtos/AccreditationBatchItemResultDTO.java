@@ -0,0 +1,17 @@
+package com.accreditations_service.accreditations_service.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.HttpStatus;
+
+// index points back into the request list, status is the HTTP status the item would have had on its own
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccreditationBatchItemResultDTO(int index, int status, AccreditationDTO accreditation, String error) {
+
+    public static AccreditationBatchItemResultDTO created(int index, AccreditationDTO accreditation) {
+        return new AccreditationBatchItemResultDTO(index, HttpStatus.CREATED.value(), accreditation, null);
+    }
+
+    public static AccreditationBatchItemResultDTO failed(int index, HttpStatus status, String error) {
+        return new AccreditationBatchItemResultDTO(index, status.value(), null, error);
+    }
+}
@@ -0,0 +1,6 @@
+package com.accreditations_service.accreditations_service.dtos;
+
+import java.util.List;
+
+public record AccreditationBatchResultDTO(int created, int failed, List<AccreditationBatchItemResultDTO> results) {
+}
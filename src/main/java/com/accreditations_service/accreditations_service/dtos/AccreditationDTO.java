@@ -1,6 +1,18 @@
 package com.accreditations_service.accreditations_service.dtos;
 
+import com.accreditations_service.accreditations_service.utils.MoneyUtils;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 import java.time.LocalDateTime;
 
-public record AccreditationDTO(Long id, Long salePointId, Long userId, String salePointName, Double amount, LocalDateTime receiptDate) {
+@JsonPropertyOrder({"id", "salePointId", "userId", "salePointName", "amount", "receiptDate"})
+public record AccreditationDTO(Long id, Long salePointId, Long userId, String salePointName,
+                               @JsonIgnore long amountCents, LocalDateTime receiptDate) {
+
+    @JsonProperty("amount")
+    public double amount() {
+        return MoneyUtils.toAmount(amountCents);
+    }
 }
@@ -0,0 +1,20 @@
+package com.accreditations_service.accreditations_service.dtos;
+
+import com.accreditations_service.accreditations_service.enums.AccreditationRequestState;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccreditationRequestStatusDTO(String requestId, AccreditationRequestState state, AccreditationDTO accreditation, String error) {
+
+    public static AccreditationRequestStatusDTO pending(String requestId) {
+        return new AccreditationRequestStatusDTO(requestId, AccreditationRequestState.PENDING, null, null);
+    }
+
+    public static AccreditationRequestStatusDTO created(String requestId, AccreditationDTO accreditation) {
+        return new AccreditationRequestStatusDTO(requestId, AccreditationRequestState.CREATED, accreditation, null);
+    }
+
+    public static AccreditationRequestStatusDTO failed(String requestId, String error) {
+        return new AccreditationRequestStatusDTO(requestId, AccreditationRequestState.FAILED, null, error);
+    }
+}
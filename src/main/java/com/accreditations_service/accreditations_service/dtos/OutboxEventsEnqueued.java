@@ -0,0 +1,5 @@
+package com.accreditations_service.accreditations_service.dtos;
+
+// Spring application event raised when a transaction writes PDF events to the outbox
+public record OutboxEventsEnqueued(int events) {
+}
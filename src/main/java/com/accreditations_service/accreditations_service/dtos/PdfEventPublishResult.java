@@ -0,0 +1,13 @@
+package com.accreditations_service.accreditations_service.dtos;
+
+// Outcome of one event of a confirmed publish: error is null exactly when the broker acked and routed it
+public record PdfEventPublishResult(boolean confirmed, String error) {
+
+    public static PdfEventPublishResult ok() {
+        return new PdfEventPublishResult(true, null);
+    }
+
+    public static PdfEventPublishResult failed(String error) {
+        return new PdfEventPublishResult(false, error);
+    }
+}
@@ -0,0 +1,41 @@
+package com.accreditations_service.accreditations_service.dtos;
+
+import com.accreditations_service.accreditations_service.utils.MoneyUtils;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+
+public record PeriodSummaryDTO(LocalDate period, long count, @JsonIgnore long totalCents,
+                               @JsonIgnore long minCents, @JsonIgnore long maxCents) {
+
+    // Used by the daily GROUP BY projection
+    public PeriodSummaryDTO(Integer year, Integer month, Integer day, Long count, Long totalCents, Long minCents, Long maxCents) {
+        this(LocalDate.of(year, month, day), count, totalCents, minCents, maxCents);
+    }
+
+    // Used by the monthly GROUP BY projection, the period is the first day of the month
+    public PeriodSummaryDTO(Integer year, Integer month, Long count, Long totalCents, Long minCents, Long maxCents) {
+        this(LocalDate.of(year, month, 1), count, totalCents, minCents, maxCents);
+    }
+
+    @JsonProperty("total")
+    public double total() {
+        return MoneyUtils.toAmount(totalCents);
+    }
+
+    @JsonProperty("min")
+    public double min() {
+        return MoneyUtils.toAmount(minCents);
+    }
+
+    @JsonProperty("avg")
+    public double avg() {
+        return MoneyUtils.toAverageAmount(totalCents, count);
+    }
+
+    @JsonProperty("max")
+    public double max() {
+        return MoneyUtils.toAmount(maxCents);
+    }
+}
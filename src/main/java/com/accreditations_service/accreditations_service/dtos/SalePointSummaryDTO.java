@@ -0,0 +1,29 @@
+package com.accreditations_service.accreditations_service.dtos;
+
+import com.accreditations_service.accreditations_service.utils.MoneyUtils;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record SalePointSummaryDTO(Long salePointId, long count, @JsonIgnore long totalCents,
+                                  @JsonIgnore long minCents, @JsonIgnore long maxCents) {
+
+    @JsonProperty("total")
+    public double total() {
+        return MoneyUtils.toAmount(totalCents);
+    }
+
+    @JsonProperty("min")
+    public double min() {
+        return MoneyUtils.toAmount(minCents);
+    }
+
+    @JsonProperty("avg")
+    public double avg() {
+        return MoneyUtils.toAverageAmount(totalCents, count);
+    }
+
+    @JsonProperty("max")
+    public double max() {
+        return MoneyUtils.toAmount(maxCents);
+    }
+}
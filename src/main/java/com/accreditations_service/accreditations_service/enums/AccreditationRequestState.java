@@ -0,0 +1,7 @@
+package com.accreditations_service.accreditations_service.enums;
+
+public enum AccreditationRequestState {
+    PENDING,
+    CREATED,
+    FAILED
+}
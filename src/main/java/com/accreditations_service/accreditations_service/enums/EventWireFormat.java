@@ -0,0 +1,8 @@
+package com.accreditations_service.accreditations_service.enums;
+
+public enum EventWireFormat {
+    // Jackson serialization of the whole AccreditationPdfEvent, with __TypeId__ headers
+    LEGACY,
+    // Versioned document with short field names and a template id instead of the subject and body text
+    COMPACT
+}
@@ -0,0 +1,36 @@
+package com.accreditations_service.accreditations_service.enums;
+
+import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat fromValue(String value) throws AccreditationException {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new AccreditationException(Constants.INVALID_EXPORT_FORMAT + value, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,19 @@
+package com.accreditations_service.accreditations_service.enums;
+
+import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import org.springframework.http.HttpStatus;
+
+public enum Granularity {
+    DAY,
+    MONTH;
+
+    public static Granularity fromValue(String value) throws AccreditationException {
+        for (Granularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(value)) {
+                return granularity;
+            }
+        }
+        throw new AccreditationException(Constants.INVALID_GRANULARITY + value, HttpStatus.BAD_REQUEST);
+    }
+}
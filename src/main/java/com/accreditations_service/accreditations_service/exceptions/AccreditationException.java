@@ -13,5 +13,11 @@ public class AccreditationException extends RuntimeException {
         this.httpStatus = httpStatus;
     }
 
+    // For expected, high-volume rejections where capturing a stack trace is pure overhead
+    public AccreditationException(String message, HttpStatus httpStatus, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.httpStatus = httpStatus;
+    }
+
     public HttpStatus getHttpStatus() {return httpStatus;}
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.accreditations_service.accreditations_service.interceptors;
+
+import com.accreditations_service.accreditations_service.config.ReadReplicaRoutingDataSource;
+import com.accreditations_service.accreditations_service.services.ReadYourWritesService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private final ReadYourWritesService readYourWritesService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+            String userId = jwt.getClaimAsString("id");
+            if (userId != null && readYourWritesService.isRecentWriter(Long.parseLong(userId))) {
+                ReadReplicaRoutingDataSource.pinToPrimary();
+                log.debug("ReadYourWritesInterceptor: Usuario ID {} escribió recientemente, sus lecturas van a la base primaria.", userId);
+            }
+        }
+        return true;
+    }
+
+    // An async handler (e.g. the streaming export) releases the request thread without afterCompletion running
+    // on it, so the pin has to be cleared here or the pooled thread would keep it for the next request
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadReplicaRoutingDataSource.clearPin();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadReplicaRoutingDataSource.clearPin();
+    }
+}
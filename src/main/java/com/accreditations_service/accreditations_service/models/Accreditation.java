@@ -11,8 +11,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Accreditation {
+    // IDENTITY would force an INSERT per entity to read the id back and disables JDBC insert batching.
+    // Ids are reserved in blocks (pooled-lo); the block size follows the sequence increment set by the
+    // R__accreditation_id_sequence_increment migration, allocationSize is only the default.
+    // Each instance hands out its own block, so ids follow creation order only roughly: a row committed now on
+    // one instance can get a lower id than a row committed earlier on another. Id order is therefore not strict
+    // newest-first, and a new row does not always raise max(id) (the listing ETags use version counters instead)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accreditation_id_seq")
+    @SequenceGenerator(name = "accreditation_id_seq", sequenceName = "accreditation_id_seq", allocationSize = 50)
     private Long id;
 
     @Column
@@ -21,13 +28,15 @@ public class Accreditation {
     @Column
     private Long userId;
 
-    @Column
-    private Double amount;
+    // Minor units (cents), see MoneyUtils
+    @Column(nullable = false)
+    private long amountCents;
 
     @Column
     private String salePointName;
 
-    @Column
+    // Partition key of the accreditation table, part of its primary key
+    @Column(nullable = false)
     private LocalDateTime receiptDate;
 
     @Column
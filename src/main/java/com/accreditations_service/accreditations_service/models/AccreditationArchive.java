@@ -0,0 +1,47 @@
+package com.accreditations_service.accreditations_service.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Rows are only written by the archival job's native SQL; this mapping is for reads
+@Entity
+@Immutable
+@Table(name = "accreditation_archive")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccreditationArchive {
+    @Id
+    private Long id;
+
+    @Column
+    private Long salePointId;
+
+    @Column
+    private Long userId;
+
+    // Minor units (cents), see MoneyUtils
+    @Column(nullable = false)
+    private long amountCents;
+
+    @Column
+    private String salePointName;
+
+    @Column(nullable = false)
+    private LocalDateTime receiptDate;
+
+    @Column
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    @Column
+    private LocalDateTime deletedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,43 @@
+package com.accreditations_service.accreditations_service.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "accreditation_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccreditationOutboxEvent {
+    // Sequence rather than IDENTITY so the rows of a bulk creation are inserted in the same JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accreditation_outbox_id_seq")
+    @SequenceGenerator(name = "accreditation_outbox_id_seq", sequenceName = "accreditation_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accreditationId;
+
+    // The AccreditationPdfEvent as JSON
+    @Column(nullable = false, length = 8192)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Null until the first failed attempt; the relay skips the row until then
+    private LocalDateTime nextAttemptAt;
+
+    // Set once the row has run out of attempts or its payload cannot be read; the relay no longer picks it up
+    @Column(nullable = false)
+    private boolean parked;
+}
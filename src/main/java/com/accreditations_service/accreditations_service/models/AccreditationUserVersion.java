@@ -0,0 +1,18 @@
+package com.accreditations_service.accreditations_service.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "accreditation_user_version")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccreditationUserVersion {
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,19 @@
+package com.accreditations_service.accreditations_service.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "accreditation_version")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccreditationVersion {
+    // One of a fixed set of slots; the global version is their sum
+    @Id
+    private Short slot;
+
+    @Column(nullable = false)
+    private long version;
+}
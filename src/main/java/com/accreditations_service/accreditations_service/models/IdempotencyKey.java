@@ -0,0 +1,27 @@
+package com.accreditations_service.accreditations_service.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey {
+    @EmbeddedId
+    private IdempotencyKeyId id;
+
+    // Null while the first attempt is still running; set in the same transaction that creates the accreditation
+    @Column
+    private Long accreditationId;
+
+    // Null for keys claimed before request hashes were stored; those are not checked
+    @Column(length = 64)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,22 @@
+package com.accreditations_service.accreditations_service.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+// Keys are scoped per user: two users may pick the same key without clashing
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class IdempotencyKeyId implements Serializable {
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String key;
+}
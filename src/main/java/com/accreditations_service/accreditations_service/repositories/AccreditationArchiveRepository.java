@@ -0,0 +1,17 @@
+package com.accreditations_service.accreditations_service.repositories;
+
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
+import com.accreditations_service.accreditations_service.models.AccreditationArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface AccreditationArchiveRepository extends JpaRepository<AccreditationArchive, Long> {
+
+    // Soft-deleted rows are archived too; like the hot table summary, they are left out
+    @Query("SELECT new com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO("
+            + "a.salePointId, count(a.id), sum(a.amountCents), min(a.amountCents), max(a.amountCents)) "
+            + "FROM AccreditationArchive a WHERE a.deletedAt IS NULL GROUP BY a.salePointId")
+    List<SalePointSummaryDTO> summarizeAllBySalePoint();
+}
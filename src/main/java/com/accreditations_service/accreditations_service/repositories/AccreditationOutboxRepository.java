@@ -0,0 +1,29 @@
+package com.accreditations_service.accreditations_service.repositories;
+
+import com.accreditations_service.accreditations_service.models.AccreditationOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AccreditationOutboxRepository extends JpaRepository<AccreditationOutboxEvent, Long> {
+
+    // Oldest first among the rows that are due and not parked; SKIP LOCKED lets several relays (one per instance)
+    // work on disjoint batches
+    @Query(value = "SELECT * FROM accreditation_outbox WHERE parked = FALSE AND (next_attempt_at IS NULL OR next_attempt_at <= :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<AccreditationOutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM AccreditationOutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE AccreditationOutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.parked = :parked WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("parked") boolean parked);
+}
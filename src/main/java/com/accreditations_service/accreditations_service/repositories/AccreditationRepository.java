@@ -1,7 +1,94 @@
 package com.accreditations_service.accreditations_service.repositories;
 
+import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.dtos.PeriodSummaryDTO;
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
 import com.accreditations_service.accreditations_service.models.Accreditation;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AccreditationRepository extends JpaRepository<Accreditation, Long> {
+
+    // Builds the DTO straight from the result set: no managed entity, no dirty-checking snapshot
+    String SELECT_ACCREDITATION_DTO = "SELECT new com.accreditations_service.accreditations_service.dtos.AccreditationDTO("
+            + "a.id, a.salePointId, a.userId, a.salePointName, a.amountCents, a.receiptDate) FROM Accreditation a";
+
+    String LIVE = " a.deletedAt IS NULL";
+
+    // Lets the planner prune the partitions older than ReceiptDateWindow.from(), and it does change results:
+    // with archival enabled, listings and the export leave out live rows older than the archival horizon plus
+    // grace even if the archival job has not moved them yet. Lookups by id do not use it and stay exact
+    String LIVE_SINCE_WINDOW_START = " a.receiptDate >= :from AND" + LIVE;
+
+    // Accreditations are never updated after creation; the archival job evicts the rows it removes.
+    // Without a receipt_date bound the lookup probes the primary key index of every partition
+    @Cacheable(cacheNames = Constants.ACCREDITATIONS_CACHE, key = "#id", unless = "#result == null")
+    @Query(SELECT_ACCREDITATION_DTO + " WHERE a.id = :id AND" + LIVE)
+    Optional<AccreditationDTO> findDTOById(@Param("id") Long id);
+
+    @Query(SELECT_ACCREDITATION_DTO + " WHERE a.id = :id AND a.userId = :userId AND" + LIVE)
+    Optional<AccreditationDTO> findDTOByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query(SELECT_ACCREDITATION_DTO + " WHERE" + LIVE_SINCE_WINDOW_START + " ORDER BY a.id DESC")
+    List<AccreditationDTO> findDTOPage(@Param("from") LocalDateTime from, Limit limit);
+
+    @Query(SELECT_ACCREDITATION_DTO + " WHERE a.id < :lastId AND" + LIVE_SINCE_WINDOW_START + " ORDER BY a.id DESC")
+    List<AccreditationDTO> findDTOPageBefore(@Param("lastId") Long lastId, @Param("from") LocalDateTime from, Limit limit);
+
+    @Query(SELECT_ACCREDITATION_DTO + " WHERE a.userId = :userId AND" + LIVE_SINCE_WINDOW_START + " ORDER BY a.id DESC")
+    List<AccreditationDTO> findDTOPageByUserId(@Param("userId") Long userId, @Param("from") LocalDateTime from, Limit limit);
+
+    @Query(SELECT_ACCREDITATION_DTO + " WHERE a.userId = :userId AND a.id < :lastId AND" + LIVE_SINCE_WINDOW_START + " ORDER BY a.id DESC")
+    List<AccreditationDTO> findDTOPageByUserIdBefore(@Param("userId") Long userId, @Param("lastId") Long lastId,
+                                                     @Param("from") LocalDateTime from, Limit limit);
+
+    @Query("SELECT count(a) > 0 FROM Accreditation a WHERE a.id = :id AND" + LIVE)
+    boolean existsLiveById(@Param("id") Long id);
+
+    @Query("SELECT new com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO("
+            + "a.salePointId, count(a.id), sum(a.amountCents), min(a.amountCents), max(a.amountCents)) "
+            + "FROM Accreditation a WHERE a.receiptDate >= :from AND a.receiptDate < :to AND a.deletedAt IS NULL "
+            + "GROUP BY a.salePointId ORDER BY a.salePointId")
+    List<SalePointSummaryDTO> summarizeBySalePoint(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO("
+            + "a.salePointId, count(a.id), sum(a.amountCents), min(a.amountCents), max(a.amountCents)) "
+            + "FROM Accreditation a WHERE a.deletedAt IS NULL GROUP BY a.salePointId")
+    List<SalePointSummaryDTO> summarizeAllBySalePoint();
+
+    @Query("SELECT new com.accreditations_service.accreditations_service.dtos.PeriodSummaryDTO("
+            + "year(a.receiptDate), month(a.receiptDate), day(a.receiptDate), "
+            + "count(a.id), sum(a.amountCents), min(a.amountCents), max(a.amountCents)) "
+            + "FROM Accreditation a WHERE a.receiptDate >= :from AND a.receiptDate < :to AND a.deletedAt IS NULL "
+            + "GROUP BY year(a.receiptDate), month(a.receiptDate), day(a.receiptDate) "
+            + "ORDER BY year(a.receiptDate), month(a.receiptDate), day(a.receiptDate)")
+    List<PeriodSummaryDTO> summarizeByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.accreditations_service.accreditations_service.dtos.PeriodSummaryDTO("
+            + "year(a.receiptDate), month(a.receiptDate), "
+            + "count(a.id), sum(a.amountCents), min(a.amountCents), max(a.amountCents)) "
+            + "FROM Accreditation a WHERE a.receiptDate >= :from AND a.receiptDate < :to AND a.deletedAt IS NULL "
+            + "GROUP BY year(a.receiptDate), month(a.receiptDate) "
+            + "ORDER BY year(a.receiptDate), month(a.receiptDate)")
+    List<PeriodSummaryDTO> summarizeByMonth(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Must be consumed inside a transaction so the driver can use a server-side cursor
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SELECT_ACCREDITATION_DTO + " WHERE" + LIVE_SINCE_WINDOW_START + " ORDER BY a.id")
+    Stream<AccreditationDTO> streamAllDTOs(@Param("from") LocalDateTime from);
 }
@@ -0,0 +1,29 @@
+package com.accreditations_service.accreditations_service.repositories;
+
+import com.accreditations_service.accreditations_service.models.AccreditationVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface AccreditationVersionRepository extends JpaRepository<AccreditationVersion, Short> {
+
+    // Upserts, so no row has to be seeded. The bumped row stays locked until the writer commits
+    @Modifying
+    @Query(value = "INSERT INTO accreditation_version (slot, version) VALUES (:slot, 1) "
+            + "ON CONFLICT (slot) DO UPDATE SET version = accreditation_version.version + 1", nativeQuery = true)
+    int bump(@Param("slot") short slot);
+
+    @Modifying
+    @Query(value = "INSERT INTO accreditation_user_version (user_id, version) VALUES (:userId, 1) "
+            + "ON CONFLICT (user_id) DO UPDATE SET version = accreditation_user_version.version + 1", nativeQuery = true)
+    int bumpUser(@Param("userId") Long userId);
+
+    @Query("SELECT coalesce(sum(v.version), 0) FROM AccreditationVersion v")
+    long sumVersions();
+
+    @Query("SELECT v.version FROM AccreditationUserVersion v WHERE v.userId = :userId")
+    Optional<Long> findUserVersion(@Param("userId") Long userId);
+}
@@ -0,0 +1,29 @@
+package com.accreditations_service.accreditations_service.repositories;
+
+import com.accreditations_service.accreditations_service.models.IdempotencyKey;
+import com.accreditations_service.accreditations_service.models.IdempotencyKeyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKeyId> {
+
+    // Returns 0 when the key is already taken. If another transaction holds the key uncommitted, the insert
+    // waits on the unique index until that attempt commits or rolls back, so concurrent duplicates never race
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_key (user_id, idempotency_key, request_hash, created_at) "
+            + "VALUES (:userId, :key, :requestHash, :createdAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int claim(@Param("userId") Long userId, @Param("key") String key, @Param("requestHash") String requestHash,
+              @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.accreditationId = :accreditationId WHERE k.id = :id")
+    int complete(@Param("id") IdempotencyKeyId id, @Param("accreditationId") Long accreditationId);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,5 @@
+package com.accreditations_service.accreditations_service.services;
+
+public interface AccreditationArchivalService {
+    int archiveAccreditations();
+}
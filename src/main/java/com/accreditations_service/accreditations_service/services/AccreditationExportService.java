@@ -0,0 +1,8 @@
+package com.accreditations_service.accreditations_service.services;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface AccreditationExportService {
+    ResponseEntity<StreamingResponseBody> exportAccreditations(String format);
+}
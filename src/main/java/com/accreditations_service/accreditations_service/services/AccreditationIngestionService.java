@@ -0,0 +1,11 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.dtos.AccreditationRequestStatusDTO;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationRequest;
+import org.springframework.http.ResponseEntity;
+
+public interface AccreditationIngestionService {
+    ResponseEntity<AccreditationRequestStatusDTO> submitAccreditation(String email, Long userId, CreateAccreditationRequest newAccreditation);
+
+    ResponseEntity<AccreditationRequestStatusDTO> getRequestStatus(Long userId, String requestId);
+}
@@ -0,0 +1,11 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.dtos.AccreditationPdfEvent;
+
+import java.util.List;
+
+public interface AccreditationOutboxService {
+    void enqueue(List<AccreditationPdfEvent> pdfEvents);
+
+    int relayPendingEvents();
+}
@@ -0,0 +1,9 @@
+package com.accreditations_service.accreditations_service.services;
+
+import java.time.YearMonth;
+
+public interface AccreditationPartitionService {
+    void createUpcomingPartitions();
+
+    void createPartitions(YearMonth from, YearMonth to);
+}
@@ -1,22 +1,33 @@
 package com.accreditations_service.accreditations_service.services;
 
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchResultDTO;
 import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationPageDTO;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationBatchRequest;
 import com.accreditations_service.accreditations_service.dtos.CreateAccreditationRequest;
 import com.accreditations_service.accreditations_service.models.Accreditation;
 import org.springframework.http.ResponseEntity;
 
-import java.util.Set;
-
 public interface AccreditationService {
     Accreditation saveAccreditation(Accreditation accreditation);
 
-    ResponseEntity<Set<AccreditationDTO>> getAllAccreditations();
+    ResponseEntity<AccreditationPageDTO> getAllAccreditations(String cursor, Integer size, String ifNoneMatch);
+
+    String getAccreditationsETag(String cursor, Integer size);
 
     ResponseEntity<AccreditationDTO> getAccreditationById(Long id);
 
+    String getAccreditationETag(Long id);
+
     ResponseEntity<AccreditationDTO> getAccreditationByIdUser(Long userId, Long id);
 
+    ResponseEntity<AccreditationPageDTO> getAccreditationsByUser(Long userId, String cursor, Integer size, String ifNoneMatch);
+
+    String getAccreditationsByUserETag(Long userId, String cursor, Integer size);
+
     ResponseEntity<AccreditationDTO> createAccreditation(String email, CreateAccreditationRequest newAccreditation);
 
+    ResponseEntity<AccreditationBatchResultDTO> createAccreditations(String email, CreateAccreditationBatchRequest batchRequest);
+
     void validateAccreditationOwner(Long userId, Long accreditationUserId);
 }
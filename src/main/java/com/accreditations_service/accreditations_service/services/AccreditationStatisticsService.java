@@ -0,0 +1,14 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.dtos.PeriodSummaryDTO;
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AccreditationStatisticsService {
+    ResponseEntity<List<SalePointSummaryDTO>> getSalePointSummaries(LocalDate from, LocalDate to);
+
+    ResponseEntity<List<PeriodSummaryDTO>> getPeriodSummaries(LocalDate from, LocalDate to, String granularity);
+}
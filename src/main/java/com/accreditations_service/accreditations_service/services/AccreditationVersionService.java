@@ -0,0 +1,11 @@
+package com.accreditations_service.accreditations_service.services;
+
+import java.util.Collection;
+
+public interface AccreditationVersionService {
+    void recordChange(Collection<Long> userIds);
+
+    long getVersion();
+
+    long getUserVersion(Long userId);
+}
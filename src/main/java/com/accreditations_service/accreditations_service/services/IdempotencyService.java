@@ -0,0 +1,14 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    ResponseEntity<AccreditationDTO> createAccreditationOnce(Long userId, String idempotencyKey, CreateAccreditationRequest request,
+                                                             Supplier<ResponseEntity<AccreditationDTO>> creation);
+
+    int purgeExpiredKeys();
+}
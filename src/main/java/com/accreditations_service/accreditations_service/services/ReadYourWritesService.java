@@ -0,0 +1,7 @@
+package com.accreditations_service.accreditations_service.services;
+
+public interface ReadYourWritesService {
+    void recordWrite(Long userId);
+
+    boolean isRecentWriter(Long userId);
+}
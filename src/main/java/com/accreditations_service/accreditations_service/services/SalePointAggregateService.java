@@ -0,0 +1,12 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public interface SalePointAggregateService {
+    void recordAccreditation(Long salePointId, long amountCents);
+
+    ResponseEntity<List<SalePointSummaryDTO>> getLiveSalePointSummaries();
+}
@@ -0,0 +1,156 @@
+package com.accreditations_service.accreditations_service.services.implementations;
+
+import com.accreditations_service.accreditations_service.services.AccreditationArchivalService;
+import com.accreditations_service.accreditations_service.services.AccreditationVersionService;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves soft-deleted accreditations, and those whose receipt date is older than the configured horizon,
+ * from the hot table to accreditation_archive. Each batch is a single DELETE ... RETURNING feeding an INSERT,
+ * committed on its own, so row locks are held for one batch only and concurrent runs skip each other's rows.
+ * The schedule only hands the run to a dedicated thread: with its pauses a run can take minutes, which must not
+ * hold up the other scheduled jobs. A trigger that fires while a run is still going is dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "accreditations.archival.enabled", havingValue = "true")
+public class AccreditationArchivalServiceImplementation implements AccreditationArchivalService {
+
+    private static final String MOVE_BATCH_SQL = """
+            WITH moved AS (
+                DELETE FROM accreditation
+                WHERE (id, receipt_date) IN (
+                    SELECT id, receipt_date FROM accreditation WHERE %s LIMIT ? FOR UPDATE SKIP LOCKED)
+                RETURNING id, sale_point_id, user_id, amount_cents, sale_point_name, receipt_date, created_at, updated_at, deleted_at
+            ), archived AS (
+                INSERT INTO accreditation_archive (id, sale_point_id, user_id, amount_cents, sale_point_name, receipt_date, created_at, updated_at, deleted_at)
+                SELECT id, sale_point_id, user_id, amount_cents, sale_point_name, receipt_date, created_at, updated_at, deleted_at FROM moved
+            )
+            SELECT id, user_id FROM moved
+            """;
+    private static final String MOVE_DELETED_SQL = MOVE_BATCH_SQL.formatted("deleted_at IS NOT NULL");
+    private static final String MOVE_EXPIRED_SQL = MOVE_BATCH_SQL.formatted("receipt_date < ?");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final CacheManager cacheManager;
+
+    private final AccreditationVersionService accreditationVersionService;
+
+    private final ExecutorService archivalExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(), Thread.ofPlatform().name("accreditation-archival").factory(),
+            (task, executor) -> log.warn(Constants.ARCHIVAL_ALREADY_RUNNING));
+
+    @Value("${accreditations.archival.horizon:730d}")
+    private Duration horizon;
+
+    @Value("${accreditations.archival.batch-size:500}")
+    private int batchSize;
+
+    @Value("${accreditations.archival.pause:200ms}")
+    private Duration pause;
+
+    @Value("${accreditations.archival.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(cron = "${accreditations.archival.cron:0 30 3 * * *}")
+    public void startArchival() {
+        archivalExecutor.execute(this::archiveAccreditations);
+    }
+
+    // Interrupts a running pause, which ends the run after the batch already committed
+    @PreDestroy
+    public void stopArchivalExecutor() {
+        archivalExecutor.shutdownNow();
+    }
+
+    @Override
+    public int archiveAccreditations() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(horizon));
+        log.info(Constants.ARCHIVING_ACCREDITATIONS, cutoff);
+
+        int archived = 0;
+        int batches = 0;
+        boolean moreDeleted = true;
+        boolean moreExpired = true;
+        while ((moreDeleted || moreExpired) && batches < maxBatchesPerRun) {
+            int moved = moreDeleted
+                    ? moveBatch(MOVE_DELETED_SQL, batchSize)
+                    : moveBatch(MOVE_EXPIRED_SQL, cutoff, batchSize);
+            if (moved < batchSize) {
+                if (moreDeleted) {
+                    moreDeleted = false;
+                } else {
+                    moreExpired = false;
+                }
+            }
+            archived += moved;
+            batches++;
+            if (moved > 0 && !pause()) {
+                break;
+            }
+        }
+
+        log.info(Constants.ACCREDITATIONS_ARCHIVED, archived, batches);
+        return archived;
+    }
+
+    private int moveBatch(String sql, Object... args) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Map<String, Object>> movedRows = jdbcTemplate.queryForList(sql, args);
+            if (movedRows.isEmpty()) {
+                return 0;
+            }
+            // CacheConfig wraps the cache manager in a TransactionAwareCacheManagerProxy, so these evictions
+            // are deferred to afterCommit and a rolled back batch leaves the cache untouched
+            Cache cache = cacheManager.getCache(Constants.ACCREDITATIONS_CACHE);
+            if (cache != null) {
+                movedRows.forEach(row -> cache.evict(toLong(row.get("id"))));
+            }
+            accreditationVersionService.recordChange(movedRows.stream().map(row -> toLong(row.get("user_id"))).toList());
+            return movedRows.size();
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    private static Long toLong(Object value) {
+        return (value == null) ? null : ((Number) value).longValue();
+    }
+
+    // Leaves room for foreground writes and replication between batches
+    private boolean pause() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -2,44 +2,171 @@ package com.accreditations_service.accreditations_service.services.implementatio
 
 import com.accreditations_service.accreditations_service.config.RabbitMQConfig;
 import com.accreditations_service.accreditations_service.dtos.AccreditationPdfEvent;
+import com.accreditations_service.accreditations_service.dtos.PdfEventPublishResult;
 import com.accreditations_service.accreditations_service.services.AccreditationEventPublisherService;
-import lombok.RequiredArgsConstructor;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes PDF events with correlated publisher confirms. Every send carries its own CorrelationData and
+ * returns a future completed by the broker's ack, so many sends can be in flight on the channel at once.
+ * The in-flight window is bounded by a semaphore: once it is full, a new send waits briefly for a free slot
+ * (window-wait, much shorter than the confirm timeout) and then fails. A nack, a mandatory return (no queue
+ * bound for the routing key) or a timeout fails the future. The window, the latency of acked confirms and the
+ * nacks, returns and timeouts are exported to Micrometer.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class AccreditationEventPublisherServiceImplementation implements AccreditationEventPublisherService {
     private final RabbitTemplate rabbitTemplate;
 
-    @Retryable(
-            value = {org.springframework.amqp.AmqpException.class},
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 2000, multiplier = 2)
-    )
-    @Override
-    public void publishAccreditationEvent(AccreditationPdfEvent pdfEvent, Long accreditationId) {
-        log.info("Intentando enviar evento PDF a RabbitMQ para accreditación con ID: " + accreditationId);
-        rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.ROUTING_KEY_PDF, pdfEvent);
-        log.info("Evento de PDF para acreditación ID: {} enviado exitosamente a RabbitMQ.", accreditationId);
+    private final Duration confirmTimeout;
+
+    private final Duration windowWait;
+
+    private final Semaphore inFlightWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Timer confirmLatency;
+
+    private final Counter nacks;
+
+    private final Counter returns;
+
+    private final Counter timeouts;
+
+    public AccreditationEventPublisherServiceImplementation(RabbitTemplate rabbitTemplate,
+                                                            MeterRegistry meterRegistry,
+                                                            @Value("${accreditations.outbox.confirm-timeout:5s}") Duration confirmTimeout,
+                                                            @Value("${accreditations.publisher.max-in-flight:256}") int maxInFlight,
+                                                            @Value("${accreditations.publisher.window-wait:100ms}") Duration windowWait) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.confirmTimeout = confirmTimeout;
+        this.windowWait = windowWait;
+        this.inFlightWindow = new Semaphore(maxInFlight);
+        Gauge.builder(Constants.PUBLISHER_IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+                .description("PDF events sent and still waiting for a broker confirm")
+                .register(meterRegistry);
+        this.confirmLatency = Timer.builder(Constants.PUBLISHER_CONFIRM_LATENCY_METRIC)
+                .description("Time from sending a PDF event to its broker ack")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.nacks = Counter.builder(Constants.PUBLISHER_NACKS_METRIC)
+                .tag("reason", "nack")
+                .register(meterRegistry);
+        this.returns = Counter.builder(Constants.PUBLISHER_NACKS_METRIC)
+                .tag("reason", "returned")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder(Constants.PUBLISHER_NACKS_METRIC)
+                .tag("reason", "timeout")
+                .register(meterRegistry);
     }
 
-    @Recover
     @Override
-    public void recoverPublishAccreditationEvent(org.springframework.amqp.AmqpException e, AccreditationPdfEvent pdfEvent, Long accreditationId) {
-        log.error("FALLO DEFINITIVO al enviar evento de PDF a RabbitMQ para acreditación ID {} después de múltiples intentos. Causa: {}",
-                accreditationId, e.getMessage(), e);
+    public CompletableFuture<Void> publishAsync(AccreditationPdfEvent pdfEvent) {
+        try {
+            if (!inFlightWindow.tryAcquire(windowWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                return CompletableFuture.failedFuture(new AmqpException(Constants.PUBLISHER_WINDOW_FULL));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new AmqpException(Constants.PUBLISHER_WINDOW_FULL, e));
+        }
+        inFlight.incrementAndGet();
+
+        Long accreditationId = pdfEvent.getAccreditationData().getAccreditationId();
+        CorrelationData correlationData = new CorrelationData(String.valueOf(accreditationId));
+        long sentAt = System.nanoTime();
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.ROUTING_KEY_PDF, pdfEvent, correlationData);
+        } catch (RuntimeException e) {
+            release();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return correlationData.getFuture()
+                .orTimeout(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((confirm, error) -> {
+                    release();
+                    if (error != null) {
+                        if (error instanceof TimeoutException) {
+                            timeouts.increment();
+                        }
+                        throw new AmqpException(Constants.PUBLISHER_CONFIRM_TIMEOUT + accreditationId, error);
+                    }
+                    if (!confirm.isAck()) {
+                        nacks.increment();
+                        throw new AmqpException(Constants.PUBLISHER_NACK + accreditationId + ": " + confirm.getReason());
+                    }
+                    confirmLatency.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                    // With mandatory set, an unroutable message is returned first and then acked
+                    if (correlationData.getReturned() != null) {
+                        returns.increment();
+                        throw new AmqpException(Constants.PUBLISHER_RETURNED + accreditationId + ": " + correlationData.getReturned().getReplyText());
+                    }
+                    return null;
+                });
     }
 
-    @Recover
+    // Sends are pipelined through publishAsync and one result is returned per event, in order, so the caller
+    // (the outbox relay) can drop what was confirmed and keep only what failed
     @Override
-    public void recoverPublishAccreditationPdfEvent(Exception e, AccreditationPdfEvent pdfEvent, Long accreditationId) {
-        log.error("FALLO DEFINITIVO INESPERADO al enviar evento de PDF a RabbitMQ para acreditación ID {} después de múltiples intentos. Causa: {}",
-                accreditationId, e.getMessage(), e);
+    public List<PdfEventPublishResult> publishConfirmed(List<AccreditationPdfEvent> pdfEvents) {
+        log.info("Enviando {} eventos PDF a RabbitMQ con confirmación.", pdfEvents.size());
+        List<CompletableFuture<Void>> confirms = new ArrayList<>(pdfEvents.size());
+        for (AccreditationPdfEvent pdfEvent : pdfEvents) {
+            confirms.add(publishAsync(pdfEvent));
+        }
+        long deadline = System.nanoTime() + confirmTimeout.toNanos() * 2;
+        List<PdfEventPublishResult> results = new ArrayList<>(pdfEvents.size());
+        int confirmed = 0;
+        for (int i = 0; i < confirms.size(); i++) {
+            PdfEventPublishResult result = awaitConfirm(confirms.get(i), pdfEvents.get(i), deadline);
+            if (result.confirmed()) {
+                confirmed++;
+            }
+            results.add(result);
+        }
+        log.info("{} de {} eventos de PDF confirmados por RabbitMQ.", confirmed, pdfEvents.size());
+        return results;
+    }
+
+    private PdfEventPublishResult awaitConfirm(CompletableFuture<Void> confirm, AccreditationPdfEvent pdfEvent, long deadline) {
+        try {
+            confirm.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return PdfEventPublishResult.ok();
+        } catch (ExecutionException e) {
+            return PdfEventPublishResult.failed(String.valueOf(e.getCause().getMessage()));
+        } catch (TimeoutException e) {
+            return PdfEventPublishResult.failed(Constants.PUBLISHER_CONFIRM_TIMEOUT + pdfEvent.getAccreditationData().getAccreditationId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PdfEventPublishResult.failed(String.valueOf(e.getMessage()));
+        }
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        inFlightWindow.release();
     }
 }
@@ -0,0 +1,139 @@
+package com.accreditations_service.accreditations_service.services.implementations;
+
+import com.accreditations_service.accreditations_service.config.ReceiptDateWindow;
+import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.enums.ExportFormat;
+import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
+import com.accreditations_service.accreditations_service.repositories.AccreditationRepository;
+import com.accreditations_service.accreditations_service.services.AccreditationExportService;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccreditationExportServiceImplementation implements AccreditationExportService {
+
+    private static final String CSV_HEADER = "id,salePointId,userId,salePointName,amount,receiptDate\n";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final AccreditationRepository accreditationRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final ReceiptDateWindow receiptDateWindow;
+
+    @Value("${accreditations.export.flush-every:1000}")
+    private int flushEvery;
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportAccreditations(String format) throws AccreditationException {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        log.info(Constants.EXPORTING_ACCREDITATIONS, exportFormat);
+
+        ContentDisposition contentDisposition = ContentDisposition.attachment()
+                .filename("accreditations." + exportFormat.getExtension())
+                .build();
+        StreamingResponseBody body = outputStream -> writeAccreditations(exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(body);
+    }
+
+    // Runs on the MVC async thread, so the read-only transaction is opened here rather than by the caller
+    private void writeAccreditations(ExportFormat format, OutputStream outputStream) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        Long written = transactionTemplate.execute(status -> {
+            try (Stream<AccreditationDTO> accreditations = accreditationRepository.streamAllDTOs(receiptDateWindow.from())) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+                return writeRows(format, accreditations.iterator(), writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        log.info(Constants.EXPORT_COMPLETED, written, format);
+    }
+
+    private long writeRows(ExportFormat format, Iterator<AccreditationDTO> accreditations, Writer writer) throws IOException {
+        ObjectWriter jsonWriter = objectMapper.writerFor(AccreditationDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        long written = 0;
+        while (accreditations.hasNext()) {
+            AccreditationDTO accreditationDTO = accreditations.next();
+
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(accreditationDTO, writer);
+            } else {
+                jsonWriter.writeValue(writer, accreditationDTO);
+                writer.write('\n');
+            }
+
+            if (++written % flushEvery == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    private void writeCsvRow(AccreditationDTO accreditation, Writer writer) throws IOException {
+        writer.write(csvValue(accreditation.id()));
+        writer.write(',');
+        writer.write(csvValue(accreditation.salePointId()));
+        writer.write(',');
+        writer.write(csvValue(accreditation.userId()));
+        writer.write(',');
+        writer.write(csvValue(accreditation.salePointName()));
+        writer.write(',');
+        writer.write(Double.toString(accreditation.amount()));
+        writer.write(',');
+        writer.write(csvValue(accreditation.receiptDate()));
+        writer.write('\n');
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,267 @@
+package com.accreditations_service.accreditations_service.services.implementations;
+
+import com.accreditations_service.accreditations_service.config.ReceiptDateWindow;
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchItemResultDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchResultDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationRequestStatusDTO;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationBatchRequest;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationRequest;
+import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
+import com.accreditations_service.accreditations_service.services.AccreditationIngestionService;
+import com.accreditations_service.accreditations_service.services.AccreditationService;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import com.accreditations_service.accreditations_service.utils.MoneyUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Accept-then-process creation: requests are validated, parked on a bounded in-memory queue and answered with
+ * 202 right away. A small pool of workers drains the queue in micro-batches through the bulk creation path, so
+ * each user's share of a batch is one transaction and one round of PDF events. A full queue is answered with
+ * 429 rather than letting work pile up. Requests still queued on shutdown are drained before the context
+ * closes; a crash loses them, which is why this mode is opt-in. Submissions enqueue under a shared lock and
+ * shutdown stops accepting under the exclusive one, so nothing can be queued after the workers decide to exit.
+ * <p>
+ * Requests are grouped by email and by the caller's authentication, so every group runs under its own token.
+ * A group whose token expired while queued fails without calling the user and sale point services.
+ * The status of a request is tracked in the memory of the instance that accepted it, so polling its Location
+ * through a load balancer needs sticky routing: any other instance answers 404.
+ */
+@Service
+@Slf4j
+public class AccreditationIngestionServiceImplementation implements AccreditationIngestionService {
+
+    private static final long MAX_TRACKED_REQUESTS = 100_000;
+    private static final long POLL_TIMEOUT_MS = 500;
+
+    private final AccreditationService accreditationService;
+
+    private final ReceiptDateWindow receiptDateWindow;
+
+    private final BlockingQueue<PendingAccreditation> queue;
+
+    private final Cache<String, TrackedRequest> requests;
+
+    private final boolean enabled;
+
+    private final int workerThreads;
+
+    private final int batchSize;
+
+    private final Duration shutdownTimeout;
+
+    private volatile boolean accepting;
+
+    private final ReadWriteLock acceptingLock = new ReentrantReadWriteLock();
+
+    private ExecutorService workers;
+
+    public AccreditationIngestionServiceImplementation(AccreditationService accreditationService,
+                                                       ReceiptDateWindow receiptDateWindow,
+                                                       @Value("${accreditations.ingestion.enabled:false}") boolean enabled,
+                                                       @Value("${accreditations.ingestion.queue-capacity:10000}") int queueCapacity,
+                                                       @Value("${accreditations.ingestion.worker-threads:2}") int workerThreads,
+                                                       @Value("${accreditations.ingestion.batch-size:100}") int batchSize,
+                                                       @Value("${accreditations.ingestion.status-ttl:15m}") Duration statusTtl,
+                                                       @Value("${accreditations.ingestion.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.accreditationService = accreditationService;
+        this.receiptDateWindow = receiptDateWindow;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.requests = Caffeine.newBuilder()
+                .expireAfterWrite(statusTtl)
+                .maximumSize(MAX_TRACKED_REQUESTS)
+                .build();
+        this.workerThreads = workerThreads;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorkers() {
+        if (!enabled || workers != null) {
+            return;
+        }
+        // Set before the workers start, otherwise a worker that runs first sees nothing to wait for and exits
+        accepting = true;
+        workers = Executors.newFixedThreadPool(workerThreads, Thread.ofPlatform().name("accreditation-ingestion-", 0).factory());
+        for (int i = 0; i < workerThreads; i++) {
+            workers.execute(this::drainQueue);
+        }
+        log.info(Constants.INGESTION_STARTED, workerThreads, queue.remainingCapacity());
+    }
+
+    // Workers leave their loop once nothing is accepted and the queue is empty
+    @PreDestroy
+    public void stopWorkers() throws InterruptedException {
+        acceptingLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            acceptingLock.writeLock().unlock();
+        }
+        if (workers == null) {
+            return;
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn(Constants.INGESTION_STOPPED_WITH_PENDING, queue.size());
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public ResponseEntity<AccreditationRequestStatusDTO> submitAccreditation(String email, Long userId, CreateAccreditationRequest newAccreditation) throws AccreditationException {
+        if (!accepting) {
+            throw new AccreditationException(Constants.INGESTION_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (newAccreditation == null || newAccreditation.salePointId() == null || newAccreditation.amount() == null) {
+            throw new AccreditationException(Constants.INVALID_BATCH_ITEM, HttpStatus.BAD_REQUEST);
+        }
+        // Checked again by the bulk path, but rejecting here answers 400 instead of a 202 that later fails
+        if (!MoneyUtils.isStorable(newAccreditation.amount())) {
+            throw new AccreditationException(Constants.INVALID_AMOUNT + newAccreditation.amount(), HttpStatus.BAD_REQUEST);
+        }
+        if (newAccreditation.receiptDate() != null && !receiptDateWindow.contains(newAccreditation.receiptDate())) {
+            throw new AccreditationException(Constants.INVALID_RECEIPT_DATE + newAccreditation.receiptDate(), HttpStatus.BAD_REQUEST);
+        }
+
+        String requestId = UUID.randomUUID().toString();
+        AccreditationRequestStatusDTO pending = AccreditationRequestStatusDTO.pending(requestId);
+        // The caller's token is kept so the worker can forward it to the user and sale point services
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        acceptingLock.readLock().lock();
+        try {
+            // Checked again under the lock: a stop that began after the first check must not see this request queued late
+            if (!accepting) {
+                throw new AccreditationException(Constants.INGESTION_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            requests.put(requestId, new TrackedRequest(userId, pending));
+            if (!queue.offer(new PendingAccreditation(requestId, email, authentication, newAccreditation))) {
+                requests.invalidate(requestId);
+                throw new AccreditationException(Constants.INGESTION_QUEUE_FULL, HttpStatus.TOO_MANY_REQUESTS, false);
+            }
+        } finally {
+            acceptingLock.readLock().unlock();
+        }
+
+        log.info(Constants.ACCREDITATION_REQUEST_ACCEPTED, requestId, queue.size());
+        return ResponseEntity.accepted()
+                .location(URI.create(Constants.ACCREDITATION_REQUESTS_PATH + requestId))
+                .body(pending);
+    }
+
+    // Someone else's request is reported as missing rather than forbidden so ids cannot be probed
+    @Override
+    public ResponseEntity<AccreditationRequestStatusDTO> getRequestStatus(Long userId, String requestId) throws AccreditationException {
+        TrackedRequest trackedRequest = requests.getIfPresent(requestId);
+        if (trackedRequest == null || !Objects.equals(trackedRequest.userId(), userId)) {
+            throw new AccreditationException(Constants.ACCREDITATION_REQUEST_NOT_FOUND + requestId, HttpStatus.NOT_FOUND, false);
+        }
+        return ResponseEntity.ok(trackedRequest.status());
+    }
+
+    private void drainQueue() {
+        List<PendingAccreditation> batch = new ArrayList<>(batchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                PendingAccreditation first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                Map<Submitter, List<PendingAccreditation>> bySubmitter = new LinkedHashMap<>();
+                for (PendingAccreditation pending : batch) {
+                    bySubmitter.computeIfAbsent(new Submitter(pending.email(), pending.authentication()), submitter -> new ArrayList<>()).add(pending);
+                }
+                bySubmitter.forEach(this::processSubmitterBatch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void processSubmitterBatch(Submitter submitter, List<PendingAccreditation> pending) {
+        if (isExpired(submitter.authentication())) {
+            log.warn(Constants.INGESTION_TOKEN_EXPIRED_LOG, pending.size(), submitter.email());
+            for (PendingAccreditation request : pending) {
+                complete(request.requestId(), AccreditationRequestStatusDTO.failed(request.requestId(), Constants.INGESTION_TOKEN_EXPIRED));
+            }
+            return;
+        }
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(submitter.authentication());
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            List<CreateAccreditationRequest> items = pending.stream().map(PendingAccreditation::request).toList();
+            AccreditationBatchResultDTO batchResult = accreditationService.createAccreditations(submitter.email(), new CreateAccreditationBatchRequest(items)).getBody();
+
+            for (AccreditationBatchItemResultDTO itemResult : batchResult.results()) {
+                String requestId = pending.get(itemResult.index()).requestId();
+                complete(requestId, (itemResult.accreditation() != null)
+                        ? AccreditationRequestStatusDTO.created(requestId, itemResult.accreditation())
+                        : AccreditationRequestStatusDTO.failed(requestId, itemResult.error()));
+            }
+        } catch (RuntimeException e) {
+            log.error(Constants.INGESTION_BATCH_FAILED, pending.size(), e.getMessage(), e);
+            for (PendingAccreditation request : pending) {
+                complete(request.requestId(), AccreditationRequestStatusDTO.failed(request.requestId(), e.getMessage()));
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private boolean isExpired(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof Jwt jwt
+                && jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(Instant.now());
+    }
+
+    private void complete(String requestId, AccreditationRequestStatusDTO status) {
+        requests.asMap().computeIfPresent(requestId, (id, trackedRequest) -> new TrackedRequest(trackedRequest.userId(), status));
+    }
+
+    private record PendingAccreditation(String requestId, String email, Authentication authentication, CreateAccreditationRequest request) {
+    }
+
+    private record Submitter(String email, Authentication authentication) {
+    }
+
+    private record TrackedRequest(Long userId, AccreditationRequestStatusDTO status) {
+    }
+}
@@ -0,0 +1,257 @@
+package com.accreditations_service.accreditations_service.services.implementations;
+
+import com.accreditations_service.accreditations_service.dtos.AccreditationPdfEvent;
+import com.accreditations_service.accreditations_service.dtos.OutboxEventsEnqueued;
+import com.accreditations_service.accreditations_service.dtos.PdfEventPublishResult;
+import com.accreditations_service.accreditations_service.models.AccreditationOutboxEvent;
+import com.accreditations_service.accreditations_service.repositories.AccreditationOutboxRepository;
+import com.accreditations_service.accreditations_service.services.AccreditationEventPublisherService;
+import com.accreditations_service.accreditations_service.services.AccreditationOutboxService;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transactional outbox for PDF events. Creation only inserts the event rows, in the caller's transaction, so
+ * request latency no longer depends on the broker and an event exists exactly when its accreditation does.
+ * The relay drains the due rows oldest first in batches: each batch is published on one channel and, while its
+ * rows stay locked, the rows the broker confirmed are deleted. A row that failed keeps its attempt count and last
+ * error and is retried after a backoff that doubles with every attempt, so delivery is at least once. A row that
+ * runs out of attempts, or whose payload cannot be read, is parked: it stays in the table for inspection but is
+ * no longer picked up, so one bad row cannot hold back the rest.
+ * Every commit that enqueued events also starts a relay right away on a small bounded pool, so events leave
+ * within milliseconds instead of waiting for the schedule. When that pool is saturated the trigger is dropped
+ * and counted, and the scheduled relay picks the rows up.
+ * <p>
+ * This is also what carries PDF events through a broker outage: an event row commits with its accreditation
+ * and stays until the broker confirms it, so no event is lost while RabbitMQ is down and no local spool is kept.
+ */
+@Service
+@Slf4j
+public class AccreditationOutboxServiceImplementation implements AccreditationOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final AccreditationOutboxRepository accreditationOutboxRepository;
+
+    private final AccreditationEventPublisherService accreditationEventPublisherService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService relayExecutor;
+
+    private final Counter rejectedRelays;
+
+    private final int batchSize;
+
+    private final int maxBatchesPerRun;
+
+    private final int maxAttempts;
+
+    private final Duration retryBackoff;
+
+    private final Duration maxRetryBackoff;
+
+    private final Counter parkedEvents;
+
+    public AccreditationOutboxServiceImplementation(AccreditationOutboxRepository accreditationOutboxRepository,
+                                                    AccreditationEventPublisherService accreditationEventPublisherService,
+                                                    ApplicationEventPublisher applicationEventPublisher,
+                                                    PlatformTransactionManager transactionManager,
+                                                    ObjectMapper objectMapper,
+                                                    MeterRegistry meterRegistry,
+                                                    @Value("${accreditations.outbox.batch-size:100}") int batchSize,
+                                                    @Value("${accreditations.outbox.max-batches-per-run:50}") int maxBatchesPerRun,
+                                                    @Value("${accreditations.outbox.relay-threads:2}") int relayThreads,
+                                                    @Value("${accreditations.outbox.relay-queue-capacity:100}") int relayQueueCapacity,
+                                                    @Value("${accreditations.outbox.max-attempts:10}") int maxAttempts,
+                                                    @Value("${accreditations.outbox.retry-backoff:1s}") Duration retryBackoff,
+                                                    @Value("${accreditations.outbox.max-retry-backoff:5m}") Duration maxRetryBackoff) {
+        this.accreditationOutboxRepository = accreditationOutboxRepository;
+        this.accreditationEventPublisherService = accreditationEventPublisherService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        // executor.queued, executor.active and executor.completed come from the binder, tagged name=outbox-relay
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(relayThreads, relayThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(relayQueueCapacity), Thread.ofPlatform().name("outbox-relay-", 0).factory());
+        this.relayExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "outbox-relay");
+        this.rejectedRelays = Counter.builder(Constants.OUTBOX_RELAY_REJECTED_METRIC)
+                .description("Immediate outbox relays dropped because the relay pool was saturated")
+                .register(meterRegistry);
+        this.parkedEvents = Counter.builder(Constants.OUTBOX_PARKED_METRIC)
+                .description("Outbox events parked after running out of attempts or with an unreadable payload")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stopRelayExecutor() {
+        relayExecutor.shutdown();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(List<AccreditationPdfEvent> pdfEvents) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AccreditationOutboxEvent> outboxEvents = new ArrayList<>(pdfEvents.size());
+        for (AccreditationPdfEvent pdfEvent : pdfEvents) {
+            AccreditationOutboxEvent outboxEvent = new AccreditationOutboxEvent();
+            outboxEvent.setAccreditationId(pdfEvent.getAccreditationData().getAccreditationId());
+            outboxEvent.setPayload(toJson(pdfEvent));
+            outboxEvent.setCreatedAt(now);
+            outboxEvents.add(outboxEvent);
+        }
+        accreditationOutboxRepository.saveAll(outboxEvents);
+        applicationEventPublisher.publishEvent(new OutboxEventsEnqueued(outboxEvents.size()));
+    }
+
+    // Runs only once the enqueuing transaction has committed, so the relay can already see the new rows
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventsEnqueued(OutboxEventsEnqueued enqueued) {
+        try {
+            relayExecutor.execute(this::relayPendingEvents);
+        } catch (RejectedExecutionException e) {
+            rejectedRelays.increment();
+            log.debug(Constants.OUTBOX_RELAY_REJECTED, enqueued.events());
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${accreditations.outbox.relay-interval:1s}")
+    public int relayPendingEvents() {
+        int relayed = 0;
+        for (int batches = 0; batches < maxBatchesPerRun; batches++) {
+            RelayedBatch batch;
+            try {
+                batch = transactionTemplate.execute(status -> relayBatch());
+            } catch (RuntimeException e) {
+                log.warn(Constants.OUTBOX_RELAY_FAILED, batchSize, e.getMessage());
+                break;
+            }
+            relayed += batch.published();
+            // A failed event usually means the broker is struggling, so the rest waits for the next run
+            if (batch.locked() < batchSize || batch.failed() > 0) {
+                break;
+            }
+        }
+        if (relayed > 0) {
+            log.info(Constants.OUTBOX_EVENTS_RELAYED, relayed);
+        }
+        return relayed;
+    }
+
+    // Confirmed rows are deleted and failed ones rescheduled in the same transaction that locked them
+    private RelayedBatch relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AccreditationOutboxEvent> outboxEvents = accreditationOutboxRepository.lockNextBatch(now, batchSize);
+        if (outboxEvents.isEmpty()) {
+            return new RelayedBatch(0, 0, 0);
+        }
+        List<AccreditationOutboxEvent> readable = new ArrayList<>(outboxEvents.size());
+        List<AccreditationPdfEvent> pdfEvents = new ArrayList<>(outboxEvents.size());
+        int failed = 0;
+        for (AccreditationOutboxEvent outboxEvent : outboxEvents) {
+            try {
+                pdfEvents.add(objectMapper.readValue(outboxEvent.getPayload(), AccreditationPdfEvent.class));
+                readable.add(outboxEvent);
+            } catch (JsonProcessingException e) {
+                // Retrying cannot fix a payload that does not deserialize
+                park(outboxEvent, e.getOriginalMessage());
+                failed++;
+            }
+        }
+        if (pdfEvents.isEmpty()) {
+            return new RelayedBatch(outboxEvents.size(), 0, failed);
+        }
+
+        List<PdfEventPublishResult> results = accreditationEventPublisherService.publishConfirmed(pdfEvents);
+        List<Long> confirmedIds = new ArrayList<>(readable.size());
+        for (int i = 0; i < readable.size(); i++) {
+            AccreditationOutboxEvent outboxEvent = readable.get(i);
+            PdfEventPublishResult result = results.get(i);
+            if (result.confirmed()) {
+                confirmedIds.add(outboxEvent.getId());
+            } else {
+                recordFailure(outboxEvent, result.error(), now);
+                failed++;
+            }
+        }
+        if (!confirmedIds.isEmpty()) {
+            accreditationOutboxRepository.deleteByIds(confirmedIds);
+        }
+        return new RelayedBatch(outboxEvents.size(), confirmedIds.size(), failed);
+    }
+
+    private void recordFailure(AccreditationOutboxEvent outboxEvent, String error, LocalDateTime now) {
+        int attempts = outboxEvent.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            park(outboxEvent, error);
+            return;
+        }
+        accreditationOutboxRepository.recordFailure(outboxEvent.getId(), truncate(error), now.plus(backoff(attempts)), false);
+    }
+
+    private void park(AccreditationOutboxEvent outboxEvent, String error) {
+        log.error(Constants.OUTBOX_EVENT_PARKED, outboxEvent.getId(), outboxEvent.getAccreditationId(),
+                outboxEvent.getAttempts() + 1, error);
+        parkedEvents.increment();
+        accreditationOutboxRepository.recordFailure(outboxEvent.getId(), truncate(error), null, true);
+    }
+
+    // retry-backoff doubled for every attempt after the first, capped at max-retry-backoff
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    private static String truncate(String error) {
+        String message = String.valueOf(error);
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private String toJson(AccreditationPdfEvent pdfEvent) {
+        try {
+            return objectMapper.writeValueAsString(pdfEvent);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record RelayedBatch(int locked, int published, int failed) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.accreditations_service.accreditations_service.services.implementations;
+
+import com.accreditations_service.accreditations_service.services.AccreditationPartitionService;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Creates the monthly receipt_date partitions of the accreditation table ahead of time (see V5 migration).
+ * A partition has to exist before its first row arrives, otherwise the row lands in the default partition
+ * and that month can no longer be attached.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "accreditations.partitioning.enabled", havingValue = "true")
+public class AccreditationPartitionServiceImplementation implements AccreditationPartitionService {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${accreditations.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${accreditations.partitioning.cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        createPartitions(current, current.plusMonths(monthsAhead));
+    }
+
+    @Override
+    public void createPartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            String partition = "accreditation_" + month.format(PARTITION_SUFFIX);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF accreditation "
+                        + "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+                log.debug(Constants.PARTITION_READY, partition);
+            } catch (DataAccessException e) {
+                // Keep going, a later month may still be creatable; the next run retries this one
+                log.error(Constants.PARTITION_CREATION_FAILED, partition, e.getMessage());
+            }
+        }
+    }
+}
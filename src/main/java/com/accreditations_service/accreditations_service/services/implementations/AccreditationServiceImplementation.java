@@ -1,31 +1,53 @@
 package com.accreditations_service.accreditations_service.services.implementations;
 
-import com.accreditations_service.accreditations_service.config.RabbitMQConfig;
+import com.accreditations_service.accreditations_service.config.ReceiptDateWindow;
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchItemResultDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchResultDTO;
 import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
 import com.accreditations_service.accreditations_service.dtos.AccreditationDataForPdf;
+import com.accreditations_service.accreditations_service.dtos.AccreditationPageDTO;
 import com.accreditations_service.accreditations_service.dtos.AccreditationPdfEvent;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationBatchRequest;
 import com.accreditations_service.accreditations_service.dtos.CreateAccreditationRequest;
 import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
 import com.accreditations_service.accreditations_service.exceptions.SalePointException;
 import com.accreditations_service.accreditations_service.exceptions.UserException;
 import com.accreditations_service.accreditations_service.models.Accreditation;
 import com.accreditations_service.accreditations_service.repositories.AccreditationRepository;
-import com.accreditations_service.accreditations_service.services.AccreditationEventPublisherService;
+import com.accreditations_service.accreditations_service.services.AccreditationOutboxService;
 import com.accreditations_service.accreditations_service.services.AccreditationService;
+import com.accreditations_service.accreditations_service.services.AccreditationVersionService;
+import com.accreditations_service.accreditations_service.services.ReadYourWritesService;
+import com.accreditations_service.accreditations_service.services.SalePointAggregateService;
 import com.accreditations_service.accreditations_service.services.SalePointClientService;
 import com.accreditations_service.accreditations_service.services.UserClientService;
 import com.accreditations_service.accreditations_service.utils.Constants;
+import com.accreditations_service.accreditations_service.utils.CursorUtils;
+import com.accreditations_service.accreditations_service.utils.ETagUtils;
+import com.accreditations_service.accreditations_service.utils.MoneyUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 @Service
 @RequiredArgsConstructor
@@ -38,7 +60,28 @@ public class AccreditationServiceImplementation implements AccreditationService
 
     private final UserClientService userClientService;
 
-    private final AccreditationEventPublisherService  accreditationEventPublisherService;
+    private final AccreditationOutboxService accreditationOutboxService;
+
+    private final CacheManager cacheManager;
+
+    private final SalePointAggregateService salePointAggregateService;
+
+    private final ReadYourWritesService readYourWritesService;
+
+    private final AccreditationVersionService accreditationVersionService;
+
+    private final ExecutorService accreditationLookupExecutor;
+
+    private final ReceiptDateWindow receiptDateWindow;
+
+    @Value("${accreditations.pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${accreditations.pagination.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${accreditations.batch.max-size:500}")
+    private int maxBatchSize;
 
     @Override
     public Accreditation saveAccreditation(Accreditation accreditation) {
@@ -50,109 +93,356 @@ public class AccreditationServiceImplementation implements AccreditationService
         return savedAccreditation;
     }
 
+    // The ETag and the page are read in one repeatable-read transaction, so they come from the same replica
+    // and the same snapshot: a client can never cache a page under the ETag of a newer or older state
     @Override
-    public ResponseEntity<Set<AccreditationDTO>> getAllAccreditations() {
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ResponseEntity<AccreditationPageDTO> getAllAccreditations(String cursor, Integer size, String ifNoneMatch) throws AccreditationException {
         log.info(Constants.GET_ALL_ACCREDITATIONS);
 
-        Set<AccreditationDTO> accreditations = accreditationRepository.findAll()
-                .stream()
-                .map(accreditation -> new AccreditationDTO(accreditation.getId(),accreditation.getSalePointId(), accreditation.getUserId(), accreditation.getSalePointName(), accreditation.getAmount(), accreditation.getReceiptDate()))
-                .collect(Collectors.toSet());
+        int pageSize = resolvePageSize(size);
+        Long lastId = CursorUtils.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+
+        String eTag = getAccreditationsETag(cursor, size);
+        if (ETagUtils.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        List<AccreditationDTO> accreditations = (lastId == null)
+                ? accreditationRepository.findDTOPage(receiptDateWindow.from(), limit)
+                : accreditationRepository.findDTOPageBefore(lastId, receiptDateWindow.from(), limit);
+
+        AccreditationPageDTO page = toPage(accreditations, pageSize);
 
         log.info(Constants.GET_ALL_ACCREDITATIONS_SUCCESSFULLY);
 
-        return new ResponseEntity<>(accreditations, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(eTag).body(page);
     }
 
+    // Creates, soft deletes and archival all bump the version (see AccreditationVersionService), so it changes
+    // whenever any page can, without scanning the table
     @Override
+    @Transactional(readOnly = true)
+    public String getAccreditationsETag(String cursor, Integer size) {
+        return ETagUtils.forPage("admin", accreditationVersionService.getVersion(), cursor, size);
+    }
+
+    // A PK existence check, so a 304 is never sent for an accreditation that was deleted or archived
+    @Override
+    @Transactional(readOnly = true)
+    public String getAccreditationETag(Long id) throws AccreditationException {
+        if (!accreditationRepository.existsLiveById(id)) {
+            throw new AccreditationException(Constants.ACCREDITATION_NOT_FOUND + id, HttpStatus.NOT_FOUND);
+        }
+        return ETagUtils.forAccreditation(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<AccreditationDTO> getAccreditationById(Long id) throws AccreditationException {
         log.info(Constants.GET_ACCREDITATION, id);
 
-        Accreditation accreditation = accreditationRepository.findById(id)
+        AccreditationDTO accreditationDTO = accreditationRepository.findDTOById(id)
                 .orElseThrow(() -> new AccreditationException(Constants.ACCREDITATION_NOT_FOUND + id, HttpStatus.NOT_FOUND));
 
         log.info(Constants.GET_ACCREDITATION_SUCCESSFULLY);
 
-        AccreditationDTO accreditationDTO = new AccreditationDTO(accreditation.getId(), accreditation.getSalePointId(), accreditation.getUserId(), accreditation.getSalePointName(), accreditation.getAmount(), accreditation.getReceiptDate());
         return new ResponseEntity<>(accreditationDTO, HttpStatus.OK);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ResponseEntity<AccreditationDTO> getAccreditationByIdUser(Long userId, Long id) throws AccreditationException {
         log.info(Constants.GET_ACCREDITATION, id);
 
-        Accreditation accreditation = accreditationRepository.findById(id)
-                .orElseThrow(() -> new AccreditationException(Constants.ACCREDITATION_NOT_FOUND + id, HttpStatus.NOT_FOUND));
+        AccreditationDTO cachedAccreditation = getCachedAccreditation(id);
+        if (cachedAccreditation != null) {
+            if (!Objects.equals(userId, cachedAccreditation.userId())) {
+                throw accreditationNotOwned(userId, id);
+            }
+            return new ResponseEntity<>(cachedAccreditation, HttpStatus.OK);
+        }
 
-        validateAccreditationOwner(userId, accreditation.getUserId());
+        AccreditationDTO accreditationDTO = accreditationRepository.findDTOByIdAndUserId(id, userId)
+                .orElseThrow(() -> accreditationNotAccessible(userId, id));
+        cacheAccreditation(accreditationDTO);
 
         log.info(Constants.GET_ACCREDITATION_SUCCESSFULLY);
 
-        AccreditationDTO accreditationDTO = new AccreditationDTO(accreditation.getId(), accreditation.getSalePointId(), accreditation.getUserId(), accreditation.getSalePointName(), accreditation.getAmount(), accreditation.getReceiptDate());
         return new ResponseEntity<>(accreditationDTO, HttpStatus.OK);
     }
 
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ResponseEntity<AccreditationPageDTO> getAccreditationsByUser(Long userId, String cursor, Integer size, String ifNoneMatch) throws AccreditationException {
+        log.info(Constants.GET_USER_ACCREDITATIONS, userId);
+
+        int pageSize = resolvePageSize(size);
+        Long lastId = CursorUtils.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+
+        String eTag = getAccreditationsByUserETag(userId, cursor, size);
+        if (ETagUtils.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        List<AccreditationDTO> accreditations = (lastId == null)
+                ? accreditationRepository.findDTOPageByUserId(userId, receiptDateWindow.from(), limit)
+                : accreditationRepository.findDTOPageByUserIdBefore(userId, lastId, receiptDateWindow.from(), limit);
+
+        AccreditationPageDTO page = toPage(accreditations, pageSize);
+
+        log.info(Constants.GET_USER_ACCREDITATIONS_SUCCESSFULLY, page.size(), userId);
+
+        return ResponseEntity.ok().eTag(eTag).body(page);
+    }
+
+    // A primary key lookup of the user's version counter
+    @Override
+    @Transactional(readOnly = true)
+    public String getAccreditationsByUserETag(Long userId, String cursor, Integer size) {
+        return ETagUtils.forPage("user", userId, accreditationVersionService.getUserVersion(userId), cursor, size);
+    }
+
     @Override
     @Transactional
     public ResponseEntity<AccreditationDTO> createAccreditation(String email, CreateAccreditationRequest newAccreditation) throws SalePointException, UserException {
         log.info(Constants.CREATING_ACCREDITATION, newAccreditation);
+        if (newAccreditation.amount() == null) {
+            throw new AccreditationException(Constants.AMOUNT_REQUIRED, HttpStatus.BAD_REQUEST);
+        }
+        if (!MoneyUtils.isStorable(newAccreditation.amount())) {
+            throw new AccreditationException(Constants.INVALID_AMOUNT + newAccreditation.amount(), HttpStatus.BAD_REQUEST);
+        }
+        if (!isReceiptDateAccepted(newAccreditation.receiptDate())) {
+            throw new AccreditationException(Constants.INVALID_RECEIPT_DATE + newAccreditation.receiptDate(), HttpStatus.BAD_REQUEST);
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        AccreditationOwner owner = lookUpSalePointAndUser(newAccreditation.salePointId(), email);
+        Long userId = owner.userId();
+
+        Accreditation savedAccreditation = saveAccreditation(buildAccreditation(newAccreditation, userId, owner.salePointName(), now));
+        log.info(Constants.ACCREDITATION_CREATED_SUCCESSFULLY + " ID: {}", savedAccreditation.getId());
+        salePointAggregateService.recordAccreditation(savedAccreditation.getSalePointId(), savedAccreditation.getAmountCents());
+        readYourWritesService.recordWrite(userId);
+        accreditationVersionService.recordChange(List.of(userId));
+        accreditationOutboxService.enqueue(List.of(buildPdfEvent(savedAccreditation, email)));
+
+        AccreditationDTO accreditationDTO = toDTO(savedAccreditation);
+        cacheAccreditation(accreditationDTO);
+        return new ResponseEntity<>(accreditationDTO, HttpStatus.CREATED);
+    }
+
+    // The user and every distinct sale point are resolved once for the whole batch, and all valid items go
+    // to the database in a single saveAll that Hibernate flushes as JDBC batches (see hibernate.jdbc.batch_size)
+    @Override
+    @Transactional
+    public ResponseEntity<AccreditationBatchResultDTO> createAccreditations(String email, CreateAccreditationBatchRequest batchRequest) throws SalePointException, UserException {
+        List<CreateAccreditationRequest> items = (batchRequest != null) ? batchRequest.accreditations() : null;
+        int batchSize = (items != null) ? items.size() : 0;
+        if (batchSize < 1 || batchSize > maxBatchSize) {
+            throw new AccreditationException(Constants.INVALID_BATCH_SIZE + batchSize, HttpStatus.BAD_REQUEST);
+        }
+        log.info(Constants.CREATING_ACCREDITATION_BATCH, batchSize);
         LocalDateTime now = LocalDateTime.now();
 
-        String salePointName = salePointClientService.getSalePointName(newAccreditation.salePointId());
         Long userId = userClientService.getUserIdFromEmail(email);
+        Map<Long, SalePointLookup> salePoints = resolveSalePoints(items);
+
+        AccreditationBatchItemResultDTO[] results = new AccreditationBatchItemResultDTO[batchSize];
+        List<Accreditation> accreditations = new ArrayList<>(batchSize);
+        List<Integer> accreditationIndexes = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            CreateAccreditationRequest item = items.get(i);
+            if (item == null || item.salePointId() == null || item.amount() == null) {
+                results[i] = AccreditationBatchItemResultDTO.failed(i, HttpStatus.BAD_REQUEST, Constants.INVALID_BATCH_ITEM);
+            } else if (!MoneyUtils.isStorable(item.amount())) {
+                results[i] = AccreditationBatchItemResultDTO.failed(i, HttpStatus.BAD_REQUEST, Constants.INVALID_AMOUNT + item.amount());
+            } else if (!isReceiptDateAccepted(item.receiptDate())) {
+                results[i] = AccreditationBatchItemResultDTO.failed(i, HttpStatus.BAD_REQUEST, Constants.INVALID_RECEIPT_DATE + item.receiptDate());
+            } else if (salePoints.get(item.salePointId()).error() != null) {
+                SalePointException error = salePoints.get(item.salePointId()).error();
+                results[i] = AccreditationBatchItemResultDTO.failed(i, error.getHttpStatus(), error.getMessage());
+            } else {
+                accreditations.add(buildAccreditation(item, userId, salePoints.get(item.salePointId()).name(), now));
+                accreditationIndexes.add(i);
+            }
+        }
+
+        List<Accreditation> savedAccreditations = accreditationRepository.saveAll(accreditations);
+        List<AccreditationPdfEvent> pdfEvents = new ArrayList<>(savedAccreditations.size());
+        for (int i = 0; i < savedAccreditations.size(); i++) {
+            Accreditation savedAccreditation = savedAccreditations.get(i);
+            AccreditationDTO accreditationDTO = toDTO(savedAccreditation);
+            results[accreditationIndexes.get(i)] = AccreditationBatchItemResultDTO.created(accreditationIndexes.get(i), accreditationDTO);
+            salePointAggregateService.recordAccreditation(savedAccreditation.getSalePointId(), savedAccreditation.getAmountCents());
+            cacheAccreditation(accreditationDTO);
+            pdfEvents.add(buildPdfEvent(savedAccreditation, email));
+        }
+
+        if (!savedAccreditations.isEmpty()) {
+            readYourWritesService.recordWrite(userId);
+            accreditationVersionService.recordChange(List.of(userId));
+            accreditationOutboxService.enqueue(pdfEvents);
+        }
+
+        int failed = batchSize - savedAccreditations.size();
+        log.info(Constants.ACCREDITATION_BATCH_PROCESSED, savedAccreditations.size(), failed);
+        AccreditationBatchResultDTO batchResult = new AccreditationBatchResultDTO(savedAccreditations.size(), failed, List.of(results));
+        return new ResponseEntity<>(batchResult, (failed == 0) ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+    }
+
+    @Override
+    public void validateAccreditationOwner(Long userId, Long accreditationUserId) throws AccreditationException {
+        log.info(Constants.VALIDATE_ACCREDITATION_OWNER, userId, accreditationUserId);
+        if (!Objects.equals(userId, accreditationUserId)){
+            log.error(Constants.VALIDATE_ACCREDITATION_OWNER_ERROR, userId);
+            throw new AccreditationException(Constants.NOT_PERM, HttpStatus.UNAUTHORIZED);
+        }
+
+        log.info(Constants.VALIDATE_ACCREDITATION_OWNER_SUCCESSFULLY);
+    }
 
+    private AccreditationDTO getCachedAccreditation(Long id) {
+        Cache cache = cacheManager.getCache(Constants.ACCREDITATIONS_CACHE);
+        return (cache != null) ? cache.get(id, AccreditationDTO.class) : null;
+    }
+
+    // Both lookups run at once, so creation waits for the slower one instead of their sum. The first failure
+    // cancels (interrupts) the other lookup and is rethrown unchanged, as when they ran one after the other
+    private AccreditationOwner lookUpSalePointAndUser(Long salePointId, String email) throws SalePointException, UserException {
+        CompletionService<Object> lookups = new ExecutorCompletionService<>(accreditationLookupExecutor);
+        Future<Object> salePointName = lookups.submit(() -> salePointClientService.getSalePointName(salePointId));
+        Future<Object> userId = lookups.submit(() -> userClientService.getUserIdFromEmail(email));
+        try {
+            for (int i = 0; i < 2; i++) {
+                lookups.take().get();
+            }
+            return new AccreditationOwner((String) salePointName.resultNow(), (Long) userId.resultNow());
+        } catch (ExecutionException e) {
+            salePointName.cancel(true);
+            userId.cancel(true);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            salePointName.cancel(true);
+            userId.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AccreditationException(Constants.LOOKUPS_INTERRUPTED, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    // A failed lookup only fails the items of that sale point, not the whole batch
+    private Map<Long, SalePointLookup> resolveSalePoints(List<CreateAccreditationRequest> items) {
+        Map<Long, SalePointLookup> salePoints = new HashMap<>();
+        for (CreateAccreditationRequest item : items) {
+            if (item == null || item.salePointId() == null || salePoints.containsKey(item.salePointId())) {
+                continue;
+            }
+            try {
+                salePoints.put(item.salePointId(), new SalePointLookup(salePointClientService.getSalePointName(item.salePointId()), null));
+            } catch (SalePointException e) {
+                salePoints.put(item.salePointId(), new SalePointLookup(null, e));
+            }
+        }
+        return salePoints;
+    }
+
+    // A missing receipt date defaults to the creation time, which is always inside the window
+    private boolean isReceiptDateAccepted(LocalDateTime receiptDate) {
+        return receiptDate == null || receiptDateWindow.contains(receiptDate);
+    }
+
+    private Accreditation buildAccreditation(CreateAccreditationRequest request, Long userId, String salePointName, LocalDateTime now) {
         Accreditation accreditation = new Accreditation();
-        accreditation.setSalePointId(newAccreditation.salePointId());
+        accreditation.setSalePointId(request.salePointId());
         accreditation.setUserId(userId);
-        accreditation.setAmount(newAccreditation.amount());
+        accreditation.setAmountCents(MoneyUtils.toMinorUnits(request.amount()));
         accreditation.setSalePointName(salePointName);
-        accreditation.setReceiptDate(newAccreditation.receiptDate());
+        accreditation.setReceiptDate(Objects.requireNonNullElse(request.receiptDate(), now));
         accreditation.setCreatedAt(now);
+        return accreditation;
+    }
 
-        Accreditation savedAccreditation = saveAccreditation(accreditation);
-        log.info(Constants.ACCREDITATION_CREATED_SUCCESSFULLY + " ID: {}", savedAccreditation.getId());
-
+    private AccreditationPdfEvent buildPdfEvent(Accreditation accreditation, String email) {
         AccreditationDataForPdf pdfData = new AccreditationDataForPdf(
-                savedAccreditation.getId(),
-                savedAccreditation.getSalePointName(),
-                savedAccreditation.getUserId(),
+                accreditation.getId(),
+                accreditation.getSalePointName(),
+                accreditation.getUserId(),
                 email,
-                savedAccreditation.getAmount(),
-                savedAccreditation.getReceiptDate(),
-                savedAccreditation.getCreatedAt()
+                MoneyUtils.toAmount(accreditation.getAmountCents()),
+                accreditation.getReceiptDate(),
+                accreditation.getCreatedAt()
         );
-        AccreditationPdfEvent pdfEvent = new AccreditationPdfEvent(
+        return new AccreditationPdfEvent(
                 email,
-                "Confirmación de Acreditación - Comprobante N° " + savedAccreditation.getId(),
+                "Confirmación de Acreditación - Comprobante N° " + accreditation.getId(),
                 "Estimado/a Usuario,\n\nSu acreditación ha sido procesada exitosamente. Adjuntamos el comprobante correspondiente.\n\nSaludos.",
                 pdfData
         );
+    }
 
-        try {
-            accreditationEventPublisherService.publishAccreditationEvent(pdfEvent, savedAccreditation.getId());
-        } catch (Exception e) {
-            log.error("Error al enviar evento de PDF a RabbitMQ para acreditación ID {}: {}", savedAccreditation.getId(), e.getMessage(), e);
-        }
-
-        AccreditationDTO accreditationDTO = new AccreditationDTO(
-                savedAccreditation.getId(),
-                savedAccreditation.getSalePointId(),
-                savedAccreditation.getUserId(),
-                savedAccreditation.getSalePointName(),
-                savedAccreditation.getAmount(),
-                savedAccreditation.getReceiptDate()
+    private AccreditationDTO toDTO(Accreditation accreditation) {
+        return new AccreditationDTO(
+                accreditation.getId(),
+                accreditation.getSalePointId(),
+                accreditation.getUserId(),
+                accreditation.getSalePointName(),
+                accreditation.getAmountCents(),
+                accreditation.getReceiptDate()
         );
-        return new ResponseEntity<>(accreditationDTO, HttpStatus.CREATED);
     }
 
-    @Override
-    public void validateAccreditationOwner(Long userId, Long accreditationUserId) throws AccreditationException {
-        log.info(Constants.VALIDATE_ACCREDITATION_OWNER, userId, accreditationUserId);
-        if (!Objects.equals(userId, accreditationUserId)){
-            log.error(Constants.VALIDATE_ACCREDITATION_OWNER_ERROR, userId);
-            throw new AccreditationException(Constants.NOT_PERM, HttpStatus.UNAUTHORIZED);
+    private void cacheAccreditation(AccreditationDTO accreditationDTO) {
+        Cache cache = cacheManager.getCache(Constants.ACCREDITATIONS_CACHE);
+        if (cache != null) {
+            cache.put(accreditationDTO.id(), accreditationDTO);
         }
+    }
 
-        log.info(Constants.VALIDATE_ACCREDITATION_OWNER_SUCCESSFULLY);
+    // Only reached when the owned lookup misses: a PK existence check tells "not found" from "not yours"
+    private AccreditationException accreditationNotAccessible(Long userId, Long id) {
+        if (!accreditationRepository.existsLiveById(id)) {
+            return new AccreditationException(Constants.ACCREDITATION_NOT_FOUND + id, HttpStatus.NOT_FOUND, false);
+        }
+        return accreditationNotOwned(userId, id);
+    }
+
+    private AccreditationException accreditationNotOwned(Long userId, Long id) {
+        log.warn(Constants.VALIDATE_ACCREDITATION_OWNER_ERROR + " - user ID: {}, accreditation ID: {}", userId, id);
+        return new AccreditationException(Constants.NOT_PERM, HttpStatus.UNAUTHORIZED, false);
+    }
+
+    private int resolvePageSize(Integer size) throws AccreditationException {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new AccreditationException(Constants.INVALID_PAGE_SIZE + size, HttpStatus.BAD_REQUEST);
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // The repository is asked for one extra row so we know whether another page exists without a COUNT(*)
+    private AccreditationPageDTO toPage(List<AccreditationDTO> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new AccreditationPageDTO(rows, null, rows.size());
+        }
+        List<AccreditationDTO> items = rows.subList(0, pageSize);
+        String nextCursor = CursorUtils.encode(items.get(items.size() - 1).id());
+        return new AccreditationPageDTO(items, nextCursor, items.size());
+    }
+
+    private record SalePointLookup(String name, SalePointException error) {
+    }
+
+    private record AccreditationOwner(String salePointName, Long userId) {
     }
 }
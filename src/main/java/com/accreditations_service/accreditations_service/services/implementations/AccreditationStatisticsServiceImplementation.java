@@ -0,0 +1,57 @@
+package com.accreditations_service.accreditations_service.services.implementations;
+
+import com.accreditations_service.accreditations_service.dtos.PeriodSummaryDTO;
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
+import com.accreditations_service.accreditations_service.enums.Granularity;
+import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
+import com.accreditations_service.accreditations_service.repositories.AccreditationRepository;
+import com.accreditations_service.accreditations_service.services.AccreditationStatisticsService;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccreditationStatisticsServiceImplementation implements AccreditationStatisticsService {
+
+    private final AccreditationRepository accreditationRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<SalePointSummaryDTO>> getSalePointSummaries(LocalDate from, LocalDate to) throws AccreditationException {
+        validateRange(from, to);
+        log.info(Constants.GET_SALE_POINT_SUMMARIES, from, to);
+
+        List<SalePointSummaryDTO> summaries = accreditationRepository.summarizeBySalePoint(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<PeriodSummaryDTO>> getPeriodSummaries(LocalDate from, LocalDate to, String granularity) throws AccreditationException {
+        Granularity bucket = Granularity.fromValue(granularity);
+        validateRange(from, to);
+        log.info(Constants.GET_PERIOD_SUMMARIES, bucket, from, to);
+
+        List<PeriodSummaryDTO> summaries = (bucket == Granularity.DAY)
+                ? accreditationRepository.summarizeByDay(from.atStartOfDay(), to.plusDays(1).atStartOfDay())
+                : accreditationRepository.summarizeByMonth(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) throws AccreditationException {
+        if (from.isAfter(to)) {
+            throw new AccreditationException(Constants.INVALID_DATE_RANGE + from + " - " + to, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.accreditations_service.accreditations_service.services.implementations;
+
+import com.accreditations_service.accreditations_service.repositories.AccreditationVersionRepository;
+import com.accreditations_service.accreditations_service.services.AccreditationVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Version counters the listing ETags are built from, so a page request never counts the accreditation table.
+ * Every change to the live rows bumps the counter of each user it touches and one global slot, in the
+ * transaction that makes the change: a reader sees the new version exactly when it can see the new rows.
+ * Soft deletes made outside this service are counted by the trigger of the V11 migration.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccreditationVersionServiceImplementation implements AccreditationVersionService {
+
+    // Concurrent writers spread over the slots, so a create rarely waits for another transaction's bump
+    private static final int GLOBAL_SLOTS = 16;
+
+    private final AccreditationVersionRepository accreditationVersionRepository;
+
+    // Users are bumped in id order and the global slot last, so two writers never lock rows in opposite orders
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Collection<Long> userIds) {
+        userIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .forEach(accreditationVersionRepository::bumpUser);
+        accreditationVersionRepository.bump((short) ThreadLocalRandom.current().nextInt(GLOBAL_SLOTS));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getVersion() {
+        return accreditationVersionRepository.sumVersions();
+    }
+
+    // A user with no counter yet has had no change since the counters were introduced
+    @Override
+    @Transactional(readOnly = true)
+    public long getUserVersion(Long userId) {
+        return accreditationVersionRepository.findUserVersion(userId).orElse(0L);
+    }
+}
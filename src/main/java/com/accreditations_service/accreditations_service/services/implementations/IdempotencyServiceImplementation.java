@@ -0,0 +1,197 @@
+package com.accreditations_service.accreditations_service.services.implementations;
+
+import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationRequest;
+import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
+import com.accreditations_service.accreditations_service.models.IdempotencyKey;
+import com.accreditations_service.accreditations_service.models.IdempotencyKeyId;
+import com.accreditations_service.accreditations_service.repositories.AccreditationRepository;
+import com.accreditations_service.accreditations_service.repositories.IdempotencyKeyRepository;
+import com.accreditations_service.accreditations_service.services.IdempotencyService;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes accreditation creation safe to retry under an Idempotency-Key.
+ * Completed keys are answered from a bounded in-memory cache first, and from the idempotency_key table after
+ * that. A duplicate arriving while the first attempt is still running waits for it: on this instance it waits
+ * on that attempt's future, and across instances the unique index serializes the claims. The claim, the
+ * accreditation and the key's completion commit together, so a failed attempt leaves the key free to retry.
+ * A key remembers a hash of the request it was first used with; reusing it for a different request is
+ * rejected with 422 rather than answered with the first accreditation.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImplementation implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final AccreditationRepository accreditationRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<IdempotencyKeyId, CompletedAttempt> completedKeys;
+
+    private final ConcurrentMap<IdempotencyKeyId, InFlightAttempt> inFlightKeys = new ConcurrentHashMap<>();
+
+    private final Duration ttl;
+
+    private final Duration inFlightWait;
+
+    public IdempotencyServiceImplementation(IdempotencyKeyRepository idempotencyKeyRepository,
+                                            AccreditationRepository accreditationRepository,
+                                            PlatformTransactionManager transactionManager,
+                                            @Value("${accreditations.idempotency.ttl:24h}") Duration ttl,
+                                            @Value("${accreditations.idempotency.cache-size:10000}") long cacheSize,
+                                            @Value("${accreditations.idempotency.in-flight-wait:10s}") Duration inFlightWait) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.accreditationRepository = accreditationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.completedKeys = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(cacheSize)
+                .build();
+        this.ttl = ttl;
+        this.inFlightWait = inFlightWait;
+    }
+
+    @Override
+    public ResponseEntity<AccreditationDTO> createAccreditationOnce(Long userId, String idempotencyKey, CreateAccreditationRequest request,
+                                                                    Supplier<ResponseEntity<AccreditationDTO>> creation) throws AccreditationException {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AccreditationException(Constants.INVALID_IDEMPOTENCY_KEY, HttpStatus.BAD_REQUEST);
+        }
+        IdempotencyKeyId keyId = new IdempotencyKeyId(userId, idempotencyKey);
+        String requestHash = hash(request);
+
+        CompletedAttempt completed = completedKeys.getIfPresent(keyId);
+        if (completed != null) {
+            verifySameRequest(completed.requestHash(), requestHash);
+            return replay(keyId, completed.accreditation());
+        }
+
+        InFlightAttempt attempt = new InFlightAttempt(requestHash, new CompletableFuture<>());
+        InFlightAttempt runningAttempt = inFlightKeys.putIfAbsent(keyId, attempt);
+        if (runningAttempt != null) {
+            verifySameRequest(runningAttempt.requestHash(), requestHash);
+            return replay(keyId, awaitAttempt(runningAttempt.result()));
+        }
+
+        try {
+            ResponseEntity<AccreditationDTO> response = transactionTemplate.execute(status -> claimAndCreate(keyId, requestHash, creation));
+            completedKeys.put(keyId, new CompletedAttempt(requestHash, response.getBody()));
+            attempt.result().complete(response.getBody());
+            return response;
+        } catch (RuntimeException e) {
+            attempt.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightKeys.remove(keyId, attempt);
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${accreditations.idempotency.purge-cron:0 */15 * * * *}")
+    public int purgeExpiredKeys() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        log.info(Constants.IDEMPOTENCY_KEYS_PURGED, purged);
+        return purged;
+    }
+
+    private ResponseEntity<AccreditationDTO> claimAndCreate(IdempotencyKeyId keyId, String requestHash,
+                                                            Supplier<ResponseEntity<AccreditationDTO>> creation) {
+        if (idempotencyKeyRepository.claim(keyId.getUserId(), keyId.getKey(), requestHash, LocalDateTime.now()) == 0) {
+            IdempotencyKey storedKey = idempotencyKeyRepository.findById(keyId)
+                    .orElseThrow(() -> new AccreditationException(Constants.IDEMPOTENCY_KEY_IN_PROGRESS, HttpStatus.CONFLICT));
+            if (storedKey.getRequestHash() != null) {
+                verifySameRequest(storedKey.getRequestHash(), requestHash);
+            }
+            Long accreditationId = storedKey.getAccreditationId();
+            if (accreditationId == null) {
+                throw new AccreditationException(Constants.IDEMPOTENCY_KEY_IN_PROGRESS, HttpStatus.CONFLICT);
+            }
+            AccreditationDTO stored = accreditationRepository.findDTOById(accreditationId)
+                    .orElseThrow(() -> new AccreditationException(Constants.ACCREDITATION_NOT_FOUND + accreditationId, HttpStatus.NOT_FOUND));
+            return replay(keyId, stored);
+        }
+
+        ResponseEntity<AccreditationDTO> response = creation.get();
+        idempotencyKeyRepository.complete(keyId, response.getBody().id());
+        return response;
+    }
+
+    // A failure of the first attempt is rethrown to its duplicates as is
+    private AccreditationDTO awaitAttempt(CompletableFuture<AccreditationDTO> runningAttempt) {
+        try {
+            return runningAttempt.get(inFlightWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new AccreditationException(Constants.IDEMPOTENCY_KEY_IN_PROGRESS, HttpStatus.CONFLICT);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccreditationException(Constants.IDEMPOTENCY_KEY_IN_PROGRESS, HttpStatus.CONFLICT);
+        }
+    }
+
+    private void verifySameRequest(String firstRequestHash, String requestHash) {
+        if (!Objects.equals(firstRequestHash, requestHash)) {
+            throw new AccreditationException(Constants.IDEMPOTENCY_KEY_REUSED, HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
+    // Hashes the parsed fields rather than the raw body, so a retry that only reformats the JSON still matches
+    private static String hash(CreateAccreditationRequest request) {
+        String canonical = request.salePointId() + "|" + request.amount() + "|" + request.receiptDate();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ResponseEntity<AccreditationDTO> replay(IdempotencyKeyId keyId, AccreditationDTO accreditationDTO) {
+        log.info(Constants.IDEMPOTENT_REPLAY, accreditationDTO.id(), keyId.getKey());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(Constants.IDEMPOTENT_REPLAYED_HEADER, "true")
+                .body(accreditationDTO);
+    }
+
+    private record CompletedAttempt(String requestHash, AccreditationDTO accreditation) {
+    }
+
+    private record InFlightAttempt(String requestHash, CompletableFuture<AccreditationDTO> result) {
+    }
+}
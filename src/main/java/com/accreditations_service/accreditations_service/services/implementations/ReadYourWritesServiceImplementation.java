@@ -0,0 +1,38 @@
+package com.accreditations_service.accreditations_service.services.implementations;
+
+import com.accreditations_service.accreditations_service.services.ReadYourWritesService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote recently so their reads can skip the (possibly lagging) replicas.
+ * The window is tracked per instance; it should cover the replica lag observed in production.
+ */
+@Service
+public class ReadYourWritesServiceImplementation implements ReadYourWritesService {
+
+    private static final long MAX_TRACKED_USERS = 100_000;
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesServiceImplementation(@Value("${accreditations.datasource.read-your-writes-window:5s}") Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(MAX_TRACKED_USERS)
+                .build();
+    }
+
+    @Override
+    public void recordWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    @Override
+    public boolean isRecentWriter(Long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
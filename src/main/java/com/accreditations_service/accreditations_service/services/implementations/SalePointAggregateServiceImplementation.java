@@ -0,0 +1,118 @@
+package com.accreditations_service.accreditations_service.services.implementations;
+
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
+import com.accreditations_service.accreditations_service.repositories.AccreditationArchiveRepository;
+import com.accreditations_service.accreditations_service.repositories.AccreditationRepository;
+import com.accreditations_service.accreditations_service.services.SalePointAggregateService;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * All-time totals per sale point, kept in memory so the operations board never queries the database.
+ * Archived accreditations stay counted: the startup bootstrap adds up the hot table and accreditation_archive
+ * in one snapshot, and the archival job leaves the counters alone. Soft-deleted accreditations are not counted.
+ * Counters only see accreditations created by this instance after the startup bootstrap.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalePointAggregateServiceImplementation implements SalePointAggregateService, SmartInitializingSingleton {
+
+    private final AccreditationRepository accreditationRepository;
+
+    private final AccreditationArchiveRepository accreditationArchiveRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ConcurrentMap<Long, SalePointCounter> counters = new ConcurrentHashMap<>();
+
+    // Runs once every singleton exists and before the web server starts, so no create can race the bootstrap.
+    // Both tables are read in one repeatable-read snapshot, so a concurrent archival batch is counted exactly once
+    @Override
+    public void afterSingletonsInstantiated() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        List<SalePointSummaryDTO> summaries = transactionTemplate.execute(status -> {
+            List<SalePointSummaryDTO> allSummaries = new ArrayList<>(accreditationRepository.summarizeAllBySalePoint());
+            allSummaries.addAll(accreditationArchiveRepository.summarizeAllBySalePoint());
+            return allSummaries;
+        });
+        if (summaries != null) {
+            summaries.forEach(summary -> counterFor(summary.salePointId()).add(summary));
+        }
+        log.info(Constants.SALE_POINT_AGGREGATES_BOOTSTRAPPED, counters.size());
+    }
+
+    @Override
+    public void recordAccreditation(Long salePointId, long amountCents) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counterFor(salePointId).add(amountCents);
+            return;
+        }
+        // Only count rows that actually committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counterFor(salePointId).add(amountCents);
+            }
+        });
+    }
+
+    @Override
+    public ResponseEntity<List<SalePointSummaryDTO>> getLiveSalePointSummaries() {
+        List<SalePointSummaryDTO> summaries = counters.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(SalePointSummaryDTO::salePointId))
+                .toList();
+        return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
+
+    private SalePointCounter counterFor(Long salePointId) {
+        return counters.computeIfAbsent(salePointId, id -> new SalePointCounter());
+    }
+
+    // Each field is updated without locks on primitive longs; a snapshot is per field consistent, not across fields
+    private static final class SalePointCounter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalCents = new LongAdder();
+        private final LongAccumulator minCents = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator maxCents = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        void add(long amountCents) {
+            totalCents.add(amountCents);
+            minCents.accumulate(amountCents);
+            maxCents.accumulate(amountCents);
+            count.increment();
+        }
+
+        void add(SalePointSummaryDTO summary) {
+            totalCents.add(summary.totalCents());
+            minCents.accumulate(summary.minCents());
+            maxCents.accumulate(summary.maxCents());
+            count.add(summary.count());
+        }
+
+        SalePointSummaryDTO snapshot(Long salePointId) {
+            return new SalePointSummaryDTO(salePointId, count.sum(), totalCents.sum(), minCents.get(), maxCents.get());
+        }
+    }
+}
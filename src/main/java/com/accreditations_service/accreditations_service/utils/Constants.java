@@ -1,14 +1,76 @@
 package com.accreditations_service.accreditations_service.utils;
 
 public class Constants {
+    public static final String ACCREDITATIONS_CACHE = "accreditations";
+
     public static final String SAVING_ACCREDITATION = "Saving accreditation: ";
     public static final String ACCREDITATION_SAVED_SUCCESSFULLY = "Accreditation saved successfully";
     public static final String GET_ALL_ACCREDITATIONS = "Retrieving all accreditations";
     public static final String GET_ALL_ACCREDITATIONS_SUCCESSFULLY = "Retrieved all accreditations successfully";
+    public static final String INVALID_CURSOR = "Invalid pagination cursor: ";
+    public static final String INVALID_PAGE_SIZE = "Invalid page size: ";
+    public static final String EXPORTING_ACCREDITATIONS = "Exporting accreditations as {}";
+    public static final String EXPORT_COMPLETED = "Exported {} accreditations as {}";
+    public static final String INVALID_EXPORT_FORMAT = "Invalid export format: ";
+    public static final String EXPORT_FETCH_SIZE = "1000";
+    public static final String GET_SALE_POINT_SUMMARIES = "Aggregating accreditations by sale point between {} and {}";
+    public static final String GET_PERIOD_SUMMARIES = "Aggregating accreditations by {} between {} and {}";
+    public static final String SALE_POINT_AGGREGATES_BOOTSTRAPPED = "Live sale point aggregates bootstrapped for {} sale points";
+    public static final String PARTITION_READY = "Accreditation partition {} is ready";
+    public static final String PARTITION_CREATION_FAILED = "Could not create accreditation partition {}: {}";
+    public static final String ARCHIVING_ACCREDITATIONS = "Archiving soft-deleted accreditations and those received before {}";
+    public static final String ARCHIVAL_ALREADY_RUNNING = "Previous archival run still in progress, skipping this trigger";
+    public static final String ACCREDITATIONS_ARCHIVED = "Archived {} accreditations in {} batches";
+    public static final String AMOUNT_REQUIRED = "Accreditation amount is required";
+    public static final String INVALID_AMOUNT = "Accreditation amount must be a finite number of at most 12 integer digits: ";
+    public static final String INVALID_GRANULARITY = "Invalid granularity: ";
+    public static final String INVALID_DATE_RANGE = "Invalid date range, 'from' must not be after 'to': ";
     public static final String GET_ACCREDITATION = "Retrieving accreditation with ID: ";
     public static final String GET_ACCREDITATION_SUCCESSFULLY = "Retrieved accreditation successfully";
+    public static final String GET_USER_ACCREDITATIONS = "Retrieving accreditations for user ID: {}";
+    public static final String GET_USER_ACCREDITATIONS_SUCCESSFULLY = "Retrieved {} accreditations for user ID: {}";
     public static final String CREATING_ACCREDITATION = "Creating accreditation: ";
     public static final String ACCREDITATION_CREATED_SUCCESSFULLY = "Accreditation created successfully";
+    public static final String LOOKUPS_INTERRUPTED = "Interrupted while looking up the sale point and the user";
+    public static final String CREATING_ACCREDITATION_BATCH = "Creating batch of {} accreditations";
+    public static final String ACCREDITATION_BATCH_PROCESSED = "Accreditation batch processed: {} created, {} failed";
+    public static final String INVALID_BATCH_SIZE = "Invalid accreditation batch size: ";
+    public static final String INVALID_BATCH_ITEM = "Sale point ID and amount are required";
+    public static final String INVALID_RECEIPT_DATE = "Receipt date is outside the accepted range: ";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String INVALID_IDEMPOTENCY_KEY = "Invalid Idempotency-Key, it must have between 1 and 255 characters";
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS = "A request with this Idempotency-Key is still in progress, retry later";
+    public static final String IDEMPOTENCY_KEY_REUSED = "This Idempotency-Key was already used with a different request";
+    public static final String IDEMPOTENT_REPLAY = "Replaying accreditation {} for Idempotency-Key {}";
+    public static final String IDEMPOTENCY_KEYS_PURGED = "Purged {} expired idempotency keys";
+    public static final String ACCREDITATION_REQUESTS_PATH = "/api/accreditations/requests/";
+    public static final String ACCREDITATION_REQUEST_ACCEPTED = "Accreditation request {} accepted, {} requests queued";
+    public static final String ACCREDITATION_REQUEST_NOT_FOUND = "Accreditation request not found with ID: ";
+    public static final String INGESTION_STARTED = "Accreditation ingestion started with {} workers and a queue of {} requests";
+    public static final String INGESTION_STOPPED_WITH_PENDING = "Accreditation ingestion stopped with {} requests still queued";
+    public static final String INGESTION_UNAVAILABLE = "Asynchronous accreditation creation is not available";
+    public static final String INGESTION_QUEUE_FULL = "Too many accreditation requests pending, retry later";
+    public static final String INGESTION_BATCH_FAILED = "Could not process {} accreditation requests: {}";
+    public static final String INGESTION_TOKEN_EXPIRED = "The access token expired before the request was processed, submit it again";
+    public static final String INGESTION_TOKEN_EXPIRED_LOG = "Failing {} accreditation requests of {}: the access token expired while they were queued";
+    public static final String OUTBOX_EVENTS_RELAYED = "Relayed {} PDF events from the outbox";
+    public static final String OUTBOX_RELAY_FAILED = "Could not relay a batch of up to {} PDF events from the outbox, it will be retried: {}";
+    public static final String OUTBOX_EVENT_PARKED = "Parked outbox event {} of accreditation {} after {} attempts: {}";
+    public static final String OUTBOX_RELAY_REJECTED = "Relay pool saturated, {} PDF events left to the scheduled relay";
+    public static final String OUTBOX_RELAY_REJECTED_METRIC = "accreditations.outbox.relay.rejected";
+    public static final String OUTBOX_PARKED_METRIC = "accreditations.outbox.parked";
+    public static final String PUBLISHER_WINDOW_FULL = "Too many PDF events waiting for broker confirms";
+    public static final String PUBLISHER_CONFIRM_TIMEOUT = "No broker confirm received for PDF event of accreditation ";
+    public static final String PUBLISHER_NACK = "Broker rejected PDF event of accreditation ";
+    public static final String PUBLISHER_RETURNED = "Broker could not route PDF event of accreditation ";
+    public static final String PUBLISHER_RETURNED_LOG = "PDF event returned by the broker: {} {} (routing key {})";
+    public static final String PUBLISHER_IN_FLIGHT_METRIC = "accreditations.publisher.in-flight";
+    public static final String PUBLISHER_CONFIRM_LATENCY_METRIC = "accreditations.publisher.confirm.latency";
+    public static final String PUBLISHER_NACKS_METRIC = "accreditations.publisher.nacks";
+    public static final String EVENT_TYPE_HEADER = "x-event-type";
+    public static final String EVENT_VERSION_HEADER = "x-event-version";
+    public static final String EVENT_SERIALIZATION_FAILED = "Could not serialize PDF event";
     public static final String GET_SALE_POINT_NAME = "Getting sale point name: ";
     public static final String GET_SALE_POINT_NAME_SUCCESSFULLY = "Sale point name retrieved successfully";
 
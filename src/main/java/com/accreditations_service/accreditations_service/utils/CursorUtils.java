@@ -0,0 +1,36 @@
+package com.accreditations_service.accreditations_service.utils;
+
+import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the last id of a keyset page into an opaque cursor and back.
+ */
+public final class CursorUtils {
+
+    private CursorUtils() {
+    }
+
+    public static String encode(Long lastId) {
+        if (lastId == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) throws AccreditationException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new AccreditationException(Constants.INVALID_CURSOR + cursor, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.accreditations_service.accreditations_service.utils;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Builds strong ETags for accreditation reads. Accreditations are immutable once created,
+ * so an id, or the version counter of the rows a response covers, is enough to identify its content.
+ */
+public final class ETagUtils {
+
+    private ETagUtils() {
+    }
+
+    public static String forAccreditation(Long id) {
+        return "\"accreditation-" + id + "\"";
+    }
+
+    public static String forPage(Object... parts) {
+        String key = Arrays.stream(parts).map(Objects::toString).collect(Collectors.joining("|"));
+        return "\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // If-None-Match uses weak comparison and may carry several tags or "*"
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
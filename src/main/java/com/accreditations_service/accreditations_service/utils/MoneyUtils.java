@@ -0,0 +1,40 @@
+package com.accreditations_service.accreditations_service.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Converts between decimal amounts, as exposed by the JSON API, and the long minor units (cents) they are stored in.
+ */
+public final class MoneyUtils {
+
+    private static final int MINOR_UNIT_DIGITS = 2;
+    private static final double MINOR_UNITS_PER_UNIT = 100.0;
+
+    // Twelve integer digits: any amount, and the sum of millions of them, stays far inside a long of cents
+    private static final BigDecimal MAX_ABSOLUTE_AMOUNT = new BigDecimal("999999999999.99");
+
+    private MoneyUtils() {
+    }
+
+    // Amounts that fail this check would overflow, or could not be converted by toMinorUnits at all
+    public static boolean isStorable(Double amount) {
+        return amount != null && Double.isFinite(amount)
+                && BigDecimal.valueOf(amount).abs().compareTo(MAX_ABSOLUTE_AMOUNT) <= 0;
+    }
+
+    public static long toMinorUnits(double amount) {
+        return BigDecimal.valueOf(amount)
+                .setScale(MINOR_UNIT_DIGITS, RoundingMode.HALF_UP)
+                .movePointRight(MINOR_UNIT_DIGITS)
+                .longValueExact();
+    }
+
+    public static double toAmount(long minorUnits) {
+        return minorUnits / MINOR_UNITS_PER_UNIT;
+    }
+
+    public static double toAverageAmount(long totalMinorUnits, long count) {
+        return count == 0 ? 0.0 : totalMinorUnits / (count * MINOR_UNITS_PER_UNIT);
+    }
+}
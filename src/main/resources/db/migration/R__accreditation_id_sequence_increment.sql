@@ -0,0 +1,7 @@
+-- Hibernate reserves ids in blocks with the pooled-lo optimizer: each nextval hands out the range
+-- [value, value + increment), so the sequence increment is the allocation size. The increment comes from the
+-- accreditation_id_allocation_size placeholder and, this being a repeatable migration, it is re-applied
+-- whenever that value changes. Existing ids are untouched: the next nextval only moves forward.
+-- Inserts relying on the column default still take a single nextval, which can never fall inside a block
+-- already handed to Hibernate.
+ALTER SEQUENCE accreditation_id_seq INCREMENT BY ${accreditation_id_allocation_size};
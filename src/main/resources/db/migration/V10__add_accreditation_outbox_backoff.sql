@@ -0,0 +1,8 @@
+-- A row whose publish failed waits until next_attempt_at before the relay picks it up again, with a backoff
+-- that grows with its attempts. After too many attempts, or when its payload cannot be read, it is parked:
+-- kept for inspection and replay, but never locked by the relay again, so it cannot stall the rows behind it.
+ALTER TABLE accreditation_outbox ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP(6);
+ALTER TABLE accreditation_outbox ADD COLUMN IF NOT EXISTS parked BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_accreditation_outbox_pending
+    ON accreditation_outbox (id) WHERE parked = FALSE;
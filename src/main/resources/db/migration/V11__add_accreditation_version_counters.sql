@@ -0,0 +1,30 @@
+-- Version counters behind the listing ETags. Creation and archival bump them in the writer's transaction
+-- (AccreditationVersionServiceImplementation): the user's counter and one of 16 global slots, so concurrent
+-- writers rarely wait on the same row. Reading a version is a primary key lookup or a sum of 16 rows.
+CREATE TABLE IF NOT EXISTS accreditation_version (
+    slot    SMALLINT PRIMARY KEY,
+    version BIGINT   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS accreditation_user_version (
+    user_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+-- Soft deletes are made outside this service, so a trigger bumps the same counters when deleted_at changes
+CREATE OR REPLACE FUNCTION bump_accreditation_versions() RETURNS trigger AS $$
+BEGIN
+    IF NEW.user_id IS NOT NULL THEN
+        INSERT INTO accreditation_user_version (user_id, version) VALUES (NEW.user_id, 1)
+        ON CONFLICT (user_id) DO UPDATE SET version = accreditation_user_version.version + 1;
+    END IF;
+    INSERT INTO accreditation_version (slot, version) VALUES (floor(random() * 16)::SMALLINT, 1)
+    ON CONFLICT (slot) DO UPDATE SET version = accreditation_version.version + 1;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_accreditation_deleted_at ON accreditation;
+CREATE TRIGGER trg_accreditation_deleted_at
+    AFTER UPDATE OF deleted_at ON accreditation
+    FOR EACH ROW WHEN (OLD.deleted_at IS DISTINCT FROM NEW.deleted_at)
+    EXECUTE FUNCTION bump_accreditation_versions();
@@ -0,0 +1,5 @@
+-- V5 dropped the BRIN index on created_at, but partition pruning only covers receipt_date: a range on
+-- created_at still scanned every partition. Created on the parent, it is built on each partition, where
+-- created_at still grows with insertion order, so the index stays tiny.
+CREATE INDEX IF NOT EXISTS brin_accreditation_created_at
+    ON accreditation USING BRIN (created_at);
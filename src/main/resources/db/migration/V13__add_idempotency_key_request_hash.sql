@@ -0,0 +1,3 @@
+-- SHA-256 of the request a key was first used with, so a retry carrying a different body is rejected instead
+-- of being answered with the first accreditation. Null for keys claimed before this column existed.
+ALTER TABLE idempotency_key ADD COLUMN IF NOT EXISTS request_hash VARCHAR(64);
@@ -0,0 +1,13 @@
+-- Matches the table previously generated by Hibernate (ddl-auto=update), so existing
+-- databases are baselined at version 0 and this script is a no-op for them.
+CREATE TABLE IF NOT EXISTS accreditation (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sale_point_id   BIGINT,
+    user_id         BIGINT,
+    amount          DOUBLE PRECISION,
+    sale_point_name VARCHAR(255),
+    receipt_date    TIMESTAMP(6),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    deleted_at      TIMESTAMP(6)
+);
@@ -0,0 +1,11 @@
+-- Per-user history, newest first
+CREATE INDEX IF NOT EXISTS idx_accreditation_user_id_created_at
+    ON accreditation (user_id, created_at DESC);
+
+-- Per-sale-point lookups and receipt date ranges
+CREATE INDEX IF NOT EXISTS idx_accreditation_sale_point_id_receipt_date
+    ON accreditation (sale_point_id, receipt_date);
+
+-- created_at grows with insertion order, so a BRIN index stays tiny and still prunes ranges
+CREATE INDEX IF NOT EXISTS brin_accreditation_created_at
+    ON accreditation USING BRIN (created_at);
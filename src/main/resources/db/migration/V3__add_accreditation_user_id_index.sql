@@ -0,0 +1,3 @@
+-- Backs the keyset pages of GET /api/accreditations/me (WHERE user_id = ? AND id < ? ORDER BY id DESC)
+CREATE INDEX IF NOT EXISTS idx_accreditation_user_id_id
+    ON accreditation (user_id, id DESC);
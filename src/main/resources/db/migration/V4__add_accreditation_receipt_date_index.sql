@@ -0,0 +1,3 @@
+-- Covers the statistics GROUP BY queries over a receipt_date range with index-only scans
+CREATE INDEX IF NOT EXISTS idx_accreditation_receipt_date
+    ON accreditation (receipt_date) INCLUDE (sale_point_id, amount);
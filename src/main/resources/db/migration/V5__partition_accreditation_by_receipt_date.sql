@@ -0,0 +1,68 @@
+-- Re-creates accreditation as a table range-partitioned by receipt_date month, so date-bounded
+-- queries only scan the months they ask for. Partitions for the months already present are created
+-- here; AccreditationPartitionServiceImplementation keeps the upcoming months created ahead of time.
+
+-- The partition key has to be part of the primary key, so it can no longer be null
+UPDATE accreditation SET receipt_date = COALESCE(created_at, now()) WHERE receipt_date IS NULL;
+
+ALTER TABLE accreditation RENAME TO accreditation_unpartitioned;
+-- Drops the identity sequence; identity columns are not supported on partitioned tables before PostgreSQL 17
+ALTER TABLE accreditation_unpartitioned ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE accreditation_id_seq;
+
+CREATE TABLE accreditation (
+    id              BIGINT NOT NULL DEFAULT nextval('accreditation_id_seq'),
+    sale_point_id   BIGINT,
+    user_id         BIGINT,
+    amount          DOUBLE PRECISION,
+    sale_point_name VARCHAR(255),
+    receipt_date    TIMESTAMP(6) NOT NULL,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    deleted_at      TIMESTAMP(6),
+    PRIMARY KEY (id, receipt_date)
+) PARTITION BY RANGE (receipt_date);
+
+ALTER SEQUENCE accreditation_id_seq OWNED BY accreditation.id;
+
+-- Catches receipt dates older than five years or beyond the partitions created so far
+CREATE TABLE accreditation_default PARTITION OF accreditation DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR month_start IN
+        SELECT generate_series(
+                       GREATEST(date_trunc('month', COALESCE(min(receipt_date), now())), date_trunc('month', now()) - INTERVAL '5 years'),
+                       date_trunc('month', now()) + INTERVAL '3 months',
+                       INTERVAL '1 month')::date
+        FROM accreditation_unpartitioned
+    LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF accreditation FOR VALUES FROM (%L) TO (%L)',
+                       'accreditation_' || to_char(month_start, 'YYYY_MM'), month_start, (month_start + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
+
+INSERT INTO accreditation (id, sale_point_id, user_id, amount, sale_point_name, receipt_date, created_at, updated_at, deleted_at)
+SELECT id, sale_point_id, user_id, amount, sale_point_name, receipt_date, created_at, updated_at, deleted_at
+FROM accreditation_unpartitioned;
+
+SELECT setval('accreditation_id_seq', COALESCE((SELECT max(id) FROM accreditation), 0) + 1, false);
+
+DROP TABLE accreditation_unpartitioned;
+
+-- Indexes on the parent are created on every partition, including the ones added later.
+-- The BRIN index on created_at is not recreated, partition pruning replaces it.
+CREATE INDEX idx_accreditation_user_id_created_at
+    ON accreditation (user_id, created_at DESC);
+
+CREATE INDEX idx_accreditation_sale_point_id_receipt_date
+    ON accreditation (sale_point_id, receipt_date);
+
+CREATE INDEX idx_accreditation_user_id_id
+    ON accreditation (user_id, id DESC);
+
+CREATE INDEX idx_accreditation_receipt_date
+    ON accreditation (receipt_date) INCLUDE (sale_point_id, amount);
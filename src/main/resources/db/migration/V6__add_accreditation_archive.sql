@@ -0,0 +1,29 @@
+-- Cold storage for accreditations moved out of the hot table by AccreditationArchivalServiceImplementation
+CREATE TABLE IF NOT EXISTS accreditation_archive (
+    id              BIGINT PRIMARY KEY,
+    sale_point_id   BIGINT,
+    user_id         BIGINT,
+    amount          DOUBLE PRECISION,
+    sale_point_name VARCHAR(255),
+    receipt_date    TIMESTAMP(6) NOT NULL,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    deleted_at      TIMESTAMP(6),
+    archived_at     TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_accreditation_archive_user_id
+    ON accreditation_archive (user_id);
+
+-- Hot read paths only look at live rows, so their indexes skip soft-deleted ones
+DROP INDEX IF EXISTS idx_accreditation_user_id_id;
+CREATE INDEX idx_accreditation_user_id_id
+    ON accreditation (user_id, id DESC) WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_accreditation_user_id_created_at;
+CREATE INDEX idx_accreditation_user_id_created_at
+    ON accreditation (user_id, created_at DESC) WHERE deleted_at IS NULL;
+
+-- Lets the archival job find soft-deleted rows without scanning live ones
+CREATE INDEX IF NOT EXISTS idx_accreditation_deleted
+    ON accreditation (deleted_at) WHERE deleted_at IS NOT NULL;
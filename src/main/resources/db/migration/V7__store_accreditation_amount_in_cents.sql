@@ -0,0 +1,16 @@
+-- Amounts move from DOUBLE PRECISION to BIGINT minor units (cents): sums are exact and never drift.
+-- Rows without an amount become 0, the column is mandatory from now on.
+ALTER TABLE accreditation ADD COLUMN amount_cents BIGINT;
+UPDATE accreditation SET amount_cents = COALESCE(round(amount::numeric * 100), 0);
+ALTER TABLE accreditation ALTER COLUMN amount_cents SET NOT NULL;
+
+-- The covering index for the statistics queries includes the old column
+DROP INDEX IF EXISTS idx_accreditation_receipt_date;
+ALTER TABLE accreditation DROP COLUMN amount;
+CREATE INDEX idx_accreditation_receipt_date
+    ON accreditation (receipt_date) INCLUDE (sale_point_id, amount_cents);
+
+ALTER TABLE accreditation_archive ADD COLUMN amount_cents BIGINT;
+UPDATE accreditation_archive SET amount_cents = COALESCE(round(amount::numeric * 100), 0);
+ALTER TABLE accreditation_archive ALTER COLUMN amount_cents SET NOT NULL;
+ALTER TABLE accreditation_archive DROP COLUMN amount;
@@ -0,0 +1,12 @@
+-- Remembers which accreditation each (user, Idempotency-Key) pair produced, so retried creations are replayed.
+-- The primary key is the unique index concurrent attempts serialize on; rows are purged after the TTL.
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    user_id          BIGINT       NOT NULL,
+    idempotency_key  VARCHAR(255) NOT NULL,
+    accreditation_id BIGINT,
+    created_at       TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_created_at
+    ON idempotency_key (created_at);
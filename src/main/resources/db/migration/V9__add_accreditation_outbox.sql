@@ -0,0 +1,14 @@
+-- Transactional outbox: PDF events are written here in the same transaction as their accreditation and
+-- relayed to RabbitMQ by AccreditationOutboxServiceImplementation, which deletes each row once the broker confirms it
+CREATE SEQUENCE IF NOT EXISTS accreditation_outbox_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS accreditation_outbox (
+    id               BIGINT PRIMARY KEY DEFAULT nextval('accreditation_outbox_id_seq'),
+    accreditation_id BIGINT       NOT NULL,
+    payload          VARCHAR(8192) NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    attempts         INTEGER      NOT NULL DEFAULT 0,
+    last_error       VARCHAR(1000)
+);
+
+ALTER SEQUENCE accreditation_outbox_id_seq OWNED BY accreditation_outbox.id;
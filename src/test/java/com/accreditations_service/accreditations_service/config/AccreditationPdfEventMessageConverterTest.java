@@ -0,0 +1,84 @@
+package com.accreditations_service.accreditations_service.config;
+
+import com.accreditations_service.accreditations_service.dtos.AccreditationDataForPdf;
+import com.accreditations_service.accreditations_service.dtos.AccreditationPdfEvent;
+import com.accreditations_service.accreditations_service.enums.EventWireFormat;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccreditationPdfEventMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Jackson2JsonMessageConverter legacyConverter = new Jackson2JsonMessageConverter();
+
+    private AccreditationPdfEvent pdfEvent;
+
+    @BeforeEach
+    void setUp() {
+        AccreditationDataForPdf pdfData = new AccreditationDataForPdf(
+                15L, "Sucursal Centro", 100L, "user@example.com", 150.75,
+                LocalDateTime.of(2025, 3, 1, 10, 0), LocalDateTime.of(2025, 3, 1, 10, 5));
+        pdfEvent = new AccreditationPdfEvent("user@example.com",
+                "Confirmación de Acreditación - Comprobante N° 15",
+                "Estimado/a Usuario,\n\nSu acreditación ha sido procesada exitosamente. Adjuntamos el comprobante correspondiente.\n\nSaludos.",
+                pdfData);
+    }
+
+    @Test
+    @DisplayName("toMessage (COMPACT) - Debería escribir la versión 2 con id de plantilla, sin textos ni cabecera __TypeId__")
+    void toMessage_compact_shouldWriteVersionedDocumentWithTemplateId() throws Exception {
+        AccreditationPdfEventMessageConverter converter = new AccreditationPdfEventMessageConverter(legacyConverter, EventWireFormat.COMPACT);
+
+        Message message = converter.toMessage(pdfEvent, new MessageProperties());
+
+        JsonNode body = objectMapper.readTree(message.getBody());
+        assertEquals(2, body.get("v").asInt());
+        assertEquals(AccreditationPdfEventMessageConverter.RECEIPT_TEMPLATE_ID, body.get("tpl").asText());
+        assertEquals(15L, body.get("id").asLong());
+        assertEquals(150.75, body.get("amt").asDouble());
+        assertEquals("2025-03-01T10:00", body.get("rd").asText());
+        assertFalse(body.has("subject"));
+        Map<String, Object> headers = message.getMessageProperties().getHeaders();
+        assertEquals(2, headers.get(Constants.EVENT_VERSION_HEADER));
+        assertEquals(AccreditationPdfEventMessageConverter.EVENT_TYPE, headers.get(Constants.EVENT_TYPE_HEADER));
+        assertFalse(headers.containsKey("__TypeId__"));
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, message.getMessageProperties().getContentType());
+    }
+
+    @Test
+    @DisplayName("toMessage (COMPACT) - El mensaje compacto debería ocupar menos de la mitad que el formato anterior")
+    void toMessage_compact_shouldBeMuchSmallerThanLegacy() {
+        AccreditationPdfEventMessageConverter compact = new AccreditationPdfEventMessageConverter(legacyConverter, EventWireFormat.COMPACT);
+        AccreditationPdfEventMessageConverter legacy = new AccreditationPdfEventMessageConverter(legacyConverter, EventWireFormat.LEGACY);
+
+        int compactBytes = compact.toMessage(pdfEvent, new MessageProperties()).getBody().length;
+        int legacyBytes = legacy.toMessage(pdfEvent, new MessageProperties()).getBody().length;
+
+        assertTrue(compactBytes * 2 < legacyBytes, "compacto " + compactBytes + " bytes, anterior " + legacyBytes + " bytes");
+    }
+
+    @Test
+    @DisplayName("toMessage (LEGACY) - Con el interruptor en LEGACY debería mantener el formato y la cabecera de tipo anteriores")
+    void toMessage_legacy_shouldDelegateToJackson() throws Exception {
+        AccreditationPdfEventMessageConverter converter = new AccreditationPdfEventMessageConverter(legacyConverter, EventWireFormat.LEGACY);
+
+        Message message = converter.toMessage(pdfEvent, new MessageProperties());
+
+        assertEquals(pdfEvent.getBodyHeader(), objectMapper.readTree(message.getBody()).get("bodyHeader").asText());
+        assertEquals(AccreditationPdfEvent.class.getName(), message.getMessageProperties().getHeaders().get("__TypeId__"));
+        assertNull(message.getMessageProperties().getHeaders().get(Constants.EVENT_VERSION_HEADER));
+    }
+}
@@ -0,0 +1,78 @@
+package com.accreditations_service.accreditations_service.config;
+
+import brave.Tracing;
+import brave.propagation.ThreadLocalCurrentTraceContext;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.brave.bridge.BraveBaggageManager;
+import io.micrometer.tracing.brave.bridge.BraveCurrentTraceContext;
+import io.micrometer.tracing.brave.bridge.BravePropagator;
+import io.micrometer.tracing.brave.bridge.BraveTracer;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ConcurrencyConfigTest {
+
+    private Tracing tracing;
+    private Tracer tracer;
+    private ObservationRegistry observationRegistry;
+    private ExecutorService accreditationLookupExecutor;
+
+    @BeforeEach
+    void setUp() {
+        tracing = Tracing.newBuilder().currentTraceContext(ThreadLocalCurrentTraceContext.create()).build();
+        tracer = new BraveTracer(tracing.tracer(), new BraveCurrentTraceContext(tracing.currentTraceContext()), new BraveBaggageManager());
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler.FirstMatchingCompositeObservationHandler(
+                new PropagatingSenderTracingObservationHandler<>(tracer, new BravePropagator(tracing)),
+                new DefaultTracingObservationHandler(tracer)));
+        accreditationLookupExecutor = new ConcurrencyConfig().accreditationLookupExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        accreditationLookupExecutor.shutdownNow();
+        tracing.close();
+    }
+
+    @Test
+    @DisplayName("accreditationLookupExecutor - La petición saliente debería llevar el trace id de la petición que la originó")
+    void accreditationLookupExecutor_shouldPropagateParentTraceToOutgoingRequest() throws Exception {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setObservationRegistry(observationRegistry);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+
+        Observation parent = Observation.start("http.server.requests", observationRegistry);
+        try (Observation.Scope ignored = parent.openScope()) {
+            String parentTraceId = tracer.currentSpan().context().traceId();
+            server.expect(requestTo("http://sale-point-service/api/sales-points/1"))
+                    .andExpect(header("X-B3-TraceId", parentTraceId))
+                    .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+            accreditationLookupExecutor.submit(() -> restTemplate.getForObject("http://sale-point-service/api/sales-points/1", String.class))
+                    .get(5, TimeUnit.SECONDS);
+        } finally {
+            parent.stop();
+        }
+
+        server.verify();
+        assertNull(tracer.currentSpan());
+    }
+}
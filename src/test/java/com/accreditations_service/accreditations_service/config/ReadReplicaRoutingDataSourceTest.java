@@ -0,0 +1,103 @@
+package com.accreditations_service.accreditations_service.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Uses two independent PostgreSQL instances, each holding a marker row naming it, to check where statements land.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final String WHO_AM_I = "SELECT name FROM instance_marker";
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static ReadReplicaRoutingDataSource routingDataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate readOnlyTransaction;
+    private static TransactionTemplate readWriteTransaction;
+
+    @BeforeAll
+    static void setUp() {
+        DataSource primaryDataSource = dataSourceFor(primary);
+        DataSource replicaDataSource = dataSourceFor(replica);
+        markInstance(primaryDataSource, "primary");
+        markInstance(replicaDataSource, "replica");
+
+        routingDataSource = new ReadReplicaRoutingDataSource(primaryDataSource, List.of(replicaDataSource));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        routingDataSource.close();
+    }
+
+    @AfterEach
+    void clearPin() {
+        ReadReplicaRoutingDataSource.clearPin();
+    }
+
+    @Test
+    @DisplayName("Una transacción readOnly debería ir a la réplica")
+    void readOnlyTransaction_shouldUseReplica() {
+        assertEquals("replica", readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHO_AM_I, String.class)));
+    }
+
+    @Test
+    @DisplayName("Una transacción de escritura debería ir a la primaria")
+    void readWriteTransaction_shouldUsePrimary() {
+        assertEquals("primary", readWriteTransaction.execute(status -> jdbcTemplate.queryForObject(WHO_AM_I, String.class)));
+    }
+
+    @Test
+    @DisplayName("Sin transacción, debería ir a la primaria")
+    void withoutTransaction_shouldUsePrimary() {
+        assertEquals("primary", jdbcTemplate.queryForObject(WHO_AM_I, String.class));
+    }
+
+    @Test
+    @DisplayName("Con el hilo fijado a la primaria, una transacción readOnly debería ir a la primaria")
+    void readOnlyTransaction_whenPinned_shouldUsePrimary() {
+        ReadReplicaRoutingDataSource.pinToPrimary();
+
+        assertEquals("primary", readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHO_AM_I, String.class)));
+    }
+
+    private static DataSource dataSourceFor(PostgreSQLContainer<?> container) {
+        return new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    private static void markInstance(DataSource dataSource, String name) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE instance_marker (name VARCHAR(20))");
+        template.update("INSERT INTO instance_marker (name) VALUES (?)", name);
+    }
+}
@@ -0,0 +1,47 @@
+package com.accreditations_service.accreditations_service.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.postprocessor.GUnzipPostProcessor;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThresholdCompressingPostProcessorTest {
+
+    private final ThresholdCompressingPostProcessor postProcessor = new ThresholdCompressingPostProcessor(1024);
+
+    @Test
+    @DisplayName("postProcessMessage - Un cuerpo por debajo del umbral debería enviarse sin comprimir")
+    void postProcessMessage_belowThreshold_shouldLeaveBodyUntouched() {
+        Message message = jsonMessage(200);
+
+        Message processed = postProcessor.postProcessMessage(message);
+
+        assertSame(message, processed);
+        assertNull(processed.getMessageProperties().getContentEncoding());
+    }
+
+    @Test
+    @DisplayName("postProcessMessage - Un cuerpo por encima del umbral debería comprimirse con gzip y marcar content-encoding")
+    void postProcessMessage_aboveThreshold_shouldGzipAndSetContentEncoding() throws Exception {
+        Message message = jsonMessage(4096);
+        byte[] original = message.getBody().clone();
+
+        Message processed = postProcessor.postProcessMessage(message);
+
+        assertTrue(processed.getMessageProperties().getContentEncoding().startsWith("gzip"));
+        assertTrue(processed.getBody().length < original.length);
+        assertArrayEquals(original, new GUnzipPostProcessor().postProcessMessage(processed).getBody());
+    }
+
+    private static Message jsonMessage(int size) {
+        String salePointName = "Sucursal ".repeat(size / 9 + 1).substring(0, size - 10);
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return new Message(("{\"sp\":\"" + salePointName + "\"}").getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
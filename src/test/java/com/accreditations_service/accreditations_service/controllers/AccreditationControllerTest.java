@@ -3,13 +3,26 @@ package com.accreditations_service.accreditations_service.controllers;
 import com.accreditations_service.accreditations_service.utils.Constants;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.accreditations_service.accreditations_service.config.SecurityConfig;
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchItemResultDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchResultDTO;
 import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationPageDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationRequestStatusDTO;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationBatchRequest;
 import com.accreditations_service.accreditations_service.dtos.CreateAccreditationRequest;
+import com.accreditations_service.accreditations_service.dtos.PeriodSummaryDTO;
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
 import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
 import com.accreditations_service.accreditations_service.exceptions.ExceptionHandlers;
 import com.accreditations_service.accreditations_service.exceptions.SalePointException;
 import com.accreditations_service.accreditations_service.exceptions.UserException;
+import com.accreditations_service.accreditations_service.services.AccreditationExportService;
+import com.accreditations_service.accreditations_service.services.AccreditationIngestionService;
 import com.accreditations_service.accreditations_service.services.AccreditationService;
+import com.accreditations_service.accreditations_service.services.AccreditationStatisticsService;
+import com.accreditations_service.accreditations_service.services.IdempotencyService;
+import com.accreditations_service.accreditations_service.services.ReadYourWritesService;
+import com.accreditations_service.accreditations_service.services.SalePointAggregateService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,21 +30,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -46,21 +67,37 @@ class AccreditationControllerTest {
     @MockBean
     private AccreditationService accreditationService;
 
+    @MockBean
+    private AccreditationExportService accreditationExportService;
+
+    @MockBean
+    private AccreditationStatisticsService accreditationStatisticsService;
+
+    @MockBean
+    private SalePointAggregateService salePointAggregateService;
+
+    @MockBean
+    private AccreditationIngestionService accreditationIngestionService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private ReadYourWritesService readYourWritesService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private AccreditationDTO accreditationDTO1;
     private AccreditationDTO accreditationDTO2;
-    private Set<AccreditationDTO> accreditationSet;
+    private AccreditationPageDTO accreditationPage;
     private CreateAccreditationRequest createRequest;
 
     @BeforeEach
     void setUp() {
-        accreditationDTO1 = new AccreditationDTO(1L, 100L, 200L, "Punto A", 150.0, LocalDateTime.now().minusDays(1));
-        accreditationDTO2 = new AccreditationDTO(2L, 101L, 201L, "Punto B", 200.0, LocalDateTime.now().minusDays(2));
-        accreditationSet = new HashSet<>();
-        accreditationSet.add(accreditationDTO1);
-        accreditationSet.add(accreditationDTO2);
+        accreditationDTO1 = new AccreditationDTO(1L, 100L, 200L, "Punto A", 15000L, LocalDateTime.now().minusDays(1));
+        accreditationDTO2 = new AccreditationDTO(2L, 101L, 201L, "Punto B", 20000L, LocalDateTime.now().minusDays(2));
+        accreditationPage = new AccreditationPageDTO(List.of(accreditationDTO2, accreditationDTO1), "bmV4dA", 2);
 
         createRequest = new CreateAccreditationRequest(100L, 150.0, LocalDateTime.now().minusDays(1));
     }
@@ -68,15 +105,34 @@ class AccreditationControllerTest {
     @Test
     @DisplayName("GET /api/accreditations/admin - Debería devolver todas las acreditaciones si es ADMIN")
     void getAllAccreditations_asAdmin_shouldReturnAllAccreditations() throws Exception {
-        when(accreditationService.getAllAccreditations()).thenReturn(ResponseEntity.ok(accreditationSet));
+        when(accreditationService.getAllAccreditations(null, null, null)).thenReturn(ResponseEntity.ok().eTag("\"admin-page\"").body(accreditationPage));
 
         mockMvc.perform(get("/api/accreditations/admin")
                         .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))
                                 .jwt(token -> token.claim("role", "ADMIN").subject("admin@example.com").claim("id", "1"))))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[?(@.id == 1 && @.salePointName == 'Punto A')]", hasSize(1)));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(2)))
+                .andExpect(jsonPath("$.items[?(@.id == 1 && @.salePointName == 'Punto A')]", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", is("bmV4dA")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"admin-page\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/accreditations/admin - Debería reenviar cursor y tamaño de página al servicio")
+    void getAllAccreditations_withCursorAndSize_shouldForwardParameters() throws Exception {
+        AccreditationPageDTO lastPage = new AccreditationPageDTO(List.of(accreditationDTO1), null, 1);
+        when(accreditationService.getAllAccreditations("bmV4dA", 1, null)).thenReturn(ResponseEntity.ok(lastPage));
+
+        mockMvc.perform(get("/api/accreditations/admin")
+                        .param("cursor", "bmV4dA")
+                        .param("size", "1")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                                .jwt(token -> token.claim("role", "ADMIN").subject("admin@example.com").claim("id", "1"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
     }
 
     @Test
@@ -88,9 +144,106 @@ class AccreditationControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @DisplayName("GET /api/accreditations/admin/export - Debería transmitir la exportación si es ADMIN")
+    void exportAccreditations_asAdmin_shouldStreamExport() throws Exception {
+        StreamingResponseBody body = outputStream -> outputStream.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+        when(accreditationExportService.exportAccreditations("ndjson"))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/accreditations/admin/export")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                                .jwt(token -> token.claim("role", "ADMIN").subject("admin@example.com").claim("id", "1"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/accreditations/admin/stats/sale-points - Debería devolver los totales por punto de venta si es ADMIN")
+    void getSalePointSummaries_asAdmin_shouldReturnSummaries() throws Exception {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 31);
+        when(accreditationStatisticsService.getSalePointSummaries(from, to))
+                .thenReturn(ResponseEntity.ok(List.of(new SalePointSummaryDTO(100L, 2L, 30000L, 10000L, 20000L))));
+
+        mockMvc.perform(get("/api/accreditations/admin/stats/sale-points")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-01-31")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                                .jwt(token -> token.claim("role", "ADMIN").subject("admin@example.com").claim("id", "1"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].salePointId", is(100)))
+                .andExpect(jsonPath("$[0].count", is(2)))
+                .andExpect(jsonPath("$[0].total", is(300.0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/accreditations/admin/stats/sale-points/live - Debería devolver los contadores en memoria si es ADMIN")
+    void getLiveSalePointSummaries_asAdmin_shouldReturnSnapshot() throws Exception {
+        when(salePointAggregateService.getLiveSalePointSummaries())
+                .thenReturn(ResponseEntity.ok(List.of(new SalePointSummaryDTO(100L, 5L, 50000L, 5000L, 20000L))));
+
+        mockMvc.perform(get("/api/accreditations/admin/stats/sale-points/live")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                                .jwt(token -> token.claim("role", "ADMIN").subject("admin@example.com").claim("id", "1"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].salePointId", is(100)))
+                .andExpect(jsonPath("$[0].count", is(5)));
+
+        verify(accreditationStatisticsService, never()).getSalePointSummaries(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/accreditations/admin/stats/periods - Debería devolver los totales por mes si es ADMIN")
+    void getPeriodSummaries_asAdmin_shouldReturnSummaries() throws Exception {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 2, 28);
+        when(accreditationStatisticsService.getPeriodSummaries(from, to, "month"))
+                .thenReturn(ResponseEntity.ok(List.of(new PeriodSummaryDTO(2025, 1, 3L, 45000L, 10000L, 20000L))));
+
+        mockMvc.perform(get("/api/accreditations/admin/stats/periods")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-02-28")
+                        .param("granularity", "month")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                                .jwt(token -> token.claim("role", "ADMIN").subject("admin@example.com").claim("id", "1"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].period", is("2025-01-01")))
+                .andExpect(jsonPath("$[0].count", is(3)));
+    }
+
+    @Test
+    @DisplayName("GET /api/accreditations/admin/stats/periods - Debería devolver 403 si NO es ADMIN")
+    void getPeriodSummaries_asNonAdmin_shouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/api/accreditations/admin/stats/periods")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-01-31")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))
+                                .jwt(token -> token.claim("role", "USER").subject("user@example.com").claim("id", "2"))))
+                .andExpect(status().isForbidden());
+
+        verify(accreditationStatisticsService, never()).getPeriodSummaries(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/accreditations/admin/export - Debería devolver 403 si NO es ADMIN")
+    void exportAccreditations_asNonAdmin_shouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/api/accreditations/admin/export")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))
+                                .jwt(token -> token.claim("role", "USER").subject("user@example.com").claim("id", "2"))))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("GET /api/accreditations/admin/{id} - Debería devolver acreditación si es ADMIN y existe")
     void getAccreditationById_asAdmin_whenExists_shouldReturnAccreditation() throws Exception {
+        when(accreditationService.getAccreditationETag(1L)).thenReturn("\"accreditation-1\"");
         when(accreditationService.getAccreditationById(1L)).thenReturn(ResponseEntity.ok(accreditationDTO1));
 
         mockMvc.perform(get("/api/accreditations/admin/1")
@@ -102,10 +255,40 @@ class AccreditationControllerTest {
                 .andExpect(jsonPath("$.salePointName", is("Punto A")));
     }
 
+    @Test
+    @DisplayName("GET /api/accreditations/admin/{id} - Debería incluir ETag y Cache-Control")
+    void getAccreditationById_asAdmin_shouldSetCachingHeaders() throws Exception {
+        when(accreditationService.getAccreditationETag(1L)).thenReturn("\"accreditation-1\"");
+        when(accreditationService.getAccreditationById(1L)).thenReturn(ResponseEntity.ok(accreditationDTO1));
+
+        mockMvc.perform(get("/api/accreditations/admin/1")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                                .jwt(token -> token.claim("role", "ADMIN").subject("admin@example.com").claim("id", "1"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"accreditation-1\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("must-revalidate")))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.AUTHORIZATION)));
+    }
+
+    @Test
+    @DisplayName("GET /api/accreditations/admin/{id} - Con If-None-Match vigente, debería devolver 304 sin consultar el servicio")
+    void getAccreditationById_withMatchingIfNoneMatch_shouldReturnNotModifiedWithoutServiceCall() throws Exception {
+        when(accreditationService.getAccreditationETag(1L)).thenReturn("\"accreditation-1\"");
+
+        mockMvc.perform(get("/api/accreditations/admin/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"accreditation-1\"")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                                .jwt(token -> token.claim("role", "ADMIN").subject("admin@example.com").claim("id", "1"))))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(accreditationService, never()).getAccreditationById(1L);
+    }
+
     @Test
     @DisplayName("GET /api/accreditations/admin/{id} - Debería devolver 404 si es ADMIN pero no existe")
     void getAccreditationById_asAdmin_whenNotExists_shouldReturnNotFound() throws Exception {
-        when(accreditationService.getAccreditationById(99L))
+        when(accreditationService.getAccreditationETag(99L))
                 .thenThrow(new AccreditationException("Accreditation not found", HttpStatus.NOT_FOUND));
 
         mockMvc.perform(get("/api/accreditations/admin/99")
@@ -114,6 +297,19 @@ class AccreditationControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("GET /api/accreditations/admin/{id} - Con If-None-Match de una acreditación eliminada, debería devolver 404 y no 304")
+    void getAccreditationById_withIfNoneMatchForDeletedAccreditation_shouldReturnNotFound() throws Exception {
+        when(accreditationService.getAccreditationETag(99L))
+                .thenThrow(new AccreditationException("Accreditation not found", HttpStatus.NOT_FOUND));
+
+        mockMvc.perform(get("/api/accreditations/admin/99")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"accreditation-99\"")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                                .jwt(token -> token.claim("role", "ADMIN").subject("admin@example.com").claim("id", "1"))))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("GET /api/accreditations/{id} - Debería devolver acreditación para usuario autenticado si es propietario")
     void getAccreditationByIdForUser_whenOwner_shouldReturnAccreditation() throws Exception {
@@ -128,6 +324,19 @@ class AccreditationControllerTest {
                 .andExpect(jsonPath("$.userId", is(200)));
     }
 
+    @Test
+    @DisplayName("GET /api/accreditations/{id} - Con If-None-Match vigente, debería devolver 304 tras validar al propietario")
+    void getAccreditationByIdForUser_withMatchingIfNoneMatch_shouldReturnNotModified() throws Exception {
+        when(accreditationService.getAccreditationByIdUser(200L, 1L))
+                .thenReturn(ResponseEntity.ok(accreditationDTO1));
+
+        mockMvc.perform(get("/api/accreditations/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"accreditation-1\"")
+                        .with(jwt().jwt(token -> token.subject("user200@example.com").claim("id", "200").claim("role", "USER"))))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("GET /api/accreditations/{id} - Debería devolver 403 (o 401 por la excepción) si usuario no es propietario")
     void getAccreditationByIdForUser_whenNotOwner_shouldReturnForbiddenOrUnauthorized() throws Exception {
@@ -139,6 +348,43 @@ class AccreditationControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @DisplayName("GET /api/accreditations/me - Debería devolver las acreditaciones del usuario tomando el ID del token")
+    void getMyAccreditations_whenAuthenticated_shouldReturnUserPage() throws Exception {
+        AccreditationPageDTO userPage = new AccreditationPageDTO(List.of(accreditationDTO1), null, 1);
+        when(accreditationService.getAccreditationsByUser(200L, null, 10, null)).thenReturn(ResponseEntity.ok(userPage));
+
+        mockMvc.perform(get("/api/accreditations/me")
+                        .param("size", "10")
+                        .with(jwt().jwt(token -> token.subject("user200@example.com").claim("id", "200").claim("role", "USER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].userId", is(200)));
+    }
+
+    @Test
+    @DisplayName("GET /api/accreditations/me - Con If-None-Match vigente, debería devolver el 304 del servicio con las cabeceras de caché")
+    void getMyAccreditations_withMatchingIfNoneMatch_shouldReturnNotModified() throws Exception {
+        when(accreditationService.getAccreditationsByUser(200L, null, null, "W/\"abc\""))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"abc\"").build());
+
+        mockMvc.perform(get("/api/accreditations/me")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"abc\"")
+                        .with(jwt().jwt(token -> token.subject("user200@example.com").claim("id", "200").claim("role", "USER"))))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("must-revalidate")))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/accreditations/me - Debería devolver 400 si el token no tiene el claim id")
+    void getMyAccreditations_whenTokenHasNoId_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/accreditations/me")
+                        .with(jwt().jwt(token -> token.subject("user200@example.com").claim("role", "USER"))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/accreditations/{id} - Debería devolver 401 si no está autenticado")
     void getAccreditationByIdForUser_notAuthenticated_shouldReturnUnauthorized() throws Exception {
@@ -150,7 +396,7 @@ class AccreditationControllerTest {
     @Test
     @DisplayName("POST /api/accreditations - Debería crear acreditación para usuario autenticado")
     void createAccreditation_asAuthenticatedUser_shouldCreateAccreditation() throws Exception {
-        AccreditationDTO createdDto = new AccreditationDTO(3L, createRequest.salePointId(), 200L, "Punto Mock", createRequest.amount(), createRequest.receiptDate());
+        AccreditationDTO createdDto = new AccreditationDTO(3L, createRequest.salePointId(), 200L, "Punto Mock", 15000L, createRequest.receiptDate());
         when(accreditationService.createAccreditation(eq("user200@example.com"), any(CreateAccreditationRequest.class)))
                 .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(createdDto));
 
@@ -163,6 +409,26 @@ class AccreditationControllerTest {
                 .andExpect(jsonPath("$.salePointName", is("Punto Mock")));
     }
 
+    @Test
+    @DisplayName("POST /api/accreditations - Con Idempotency-Key, debería delegar en el servicio de idempotencia con el ID del token")
+    void createAccreditation_withIdempotencyKey_shouldDelegateToIdempotencyService() throws Exception {
+        when(idempotencyService.createAccreditationOnce(eq(200L), eq("retry-key-1"), any(), any()))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED)
+                        .header(Constants.IDEMPOTENT_REPLAYED_HEADER, "true")
+                        .body(accreditationDTO1));
+
+        mockMvc.perform(post("/api/accreditations")
+                        .with(jwt().jwt(token -> token.subject("user200@example.com").claim("id", "200").claim("role", "USER")))
+                        .header(Constants.IDEMPOTENCY_KEY_HEADER, "retry-key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(Constants.IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id", is(1)));
+
+        verify(accreditationService, never()).createAccreditation(anyString(), any());
+    }
+
     @Test
     @DisplayName("POST /api/accreditations - Debería devolver 404 si SalePoint no existe (manejado por servicio)")
     void createAccreditation_whenSalePointNotFound_shouldReturnNotFound() throws Exception {
@@ -190,4 +456,83 @@ class AccreditationControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message", is(Constants.USER_NOT_FOUND)));
     }
+
+    @Test
+    @DisplayName("POST /api/accreditations/batch - Debería devolver 207 con el resultado de cada elemento")
+    void createAccreditations_withPartialFailure_shouldReturnMultiStatus() throws Exception {
+        CreateAccreditationBatchRequest batchRequest = new CreateAccreditationBatchRequest(List.of(createRequest, new CreateAccreditationRequest(999L, 10.0, null)));
+        AccreditationBatchResultDTO batchResult = new AccreditationBatchResultDTO(1, 1, List.of(
+                AccreditationBatchItemResultDTO.created(0, accreditationDTO1),
+                AccreditationBatchItemResultDTO.failed(1, HttpStatus.NOT_FOUND, Constants.SALE_POINT_NOT_FOUND + 999)));
+        when(accreditationService.createAccreditations(eq("user200@example.com"), any(CreateAccreditationBatchRequest.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.MULTI_STATUS).body(batchResult));
+
+        mockMvc.perform(post("/api/accreditations/batch")
+                        .with(jwt().jwt(token -> token.subject("user200@example.com").claim("id", "200").claim("role", "USER")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.results[0].status", is(201)))
+                .andExpect(jsonPath("$.results[0].accreditation.id", is(1)))
+                .andExpect(jsonPath("$.results[1].status", is(404)))
+                .andExpect(jsonPath("$.results[1].error", is(Constants.SALE_POINT_NOT_FOUND + 999)));
+    }
+
+    @Test
+    @DisplayName("POST /api/accreditations/batch - Debería devolver 401 si no está autenticado")
+    void createAccreditations_whenUnauthenticated_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/accreditations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateAccreditationBatchRequest(List.of(createRequest)))))
+                .andExpect(status().isUnauthorized());
+
+        verify(accreditationService, never()).createAccreditations(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/accreditations/async - Debería devolver 202 con la URL de estado")
+    void submitAccreditation_asAuthenticatedUser_shouldReturnAccepted() throws Exception {
+        when(accreditationIngestionService.submitAccreditation(eq("user200@example.com"), eq(200L), any(CreateAccreditationRequest.class)))
+                .thenReturn(ResponseEntity.accepted()
+                        .location(URI.create(Constants.ACCREDITATION_REQUESTS_PATH + "abc"))
+                        .body(AccreditationRequestStatusDTO.pending("abc")));
+
+        mockMvc.perform(post("/api/accreditations/async")
+                        .with(jwt().jwt(token -> token.subject("user200@example.com").claim("id", "200").claim("role", "USER")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, Constants.ACCREDITATION_REQUESTS_PATH + "abc"))
+                .andExpect(jsonPath("$.requestId", is("abc")))
+                .andExpect(jsonPath("$.state", is("PENDING")));
+    }
+
+    @Test
+    @DisplayName("POST /api/accreditations/async - Debería devolver 429 si la cola está llena")
+    void submitAccreditation_whenQueueFull_shouldReturnTooManyRequests() throws Exception {
+        when(accreditationIngestionService.submitAccreditation(anyString(), anyLong(), any(CreateAccreditationRequest.class)))
+                .thenThrow(new AccreditationException(Constants.INGESTION_QUEUE_FULL, HttpStatus.TOO_MANY_REQUESTS, false));
+
+        mockMvc.perform(post("/api/accreditations/async")
+                        .with(jwt().jwt(token -> token.subject("user200@example.com").claim("id", "200").claim("role", "USER")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.message", is(Constants.INGESTION_QUEUE_FULL)));
+    }
+
+    @Test
+    @DisplayName("GET /api/accreditations/requests/{requestId} - Debería devolver el estado tomando el ID del token")
+    void getAccreditationRequestStatus_shouldReturnStatusForTokenUser() throws Exception {
+        when(accreditationIngestionService.getRequestStatus(200L, "abc"))
+                .thenReturn(ResponseEntity.ok(AccreditationRequestStatusDTO.created("abc", accreditationDTO1)));
+
+        mockMvc.perform(get("/api/accreditations/requests/abc")
+                        .with(jwt().jwt(token -> token.subject("user200@example.com").claim("id", "200").claim("role", "USER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state", is("CREATED")))
+                .andExpect(jsonPath("$.accreditation.id", is(1)));
+    }
 }
@@ -0,0 +1,121 @@
+package com.accreditations_service.accreditations_service.repositories;
+
+import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
+import com.accreditations_service.accreditations_service.models.Accreditation;
+import com.accreditations_service.accreditations_service.services.implementations.AccreditationPartitionServiceImplementation;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL and checks that receipt_date range queries are pruned
+ * to the partitions they cover. Pruning is what keeps their latency flat as historical months accumulate.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true"
+})
+class AccreditationPartitionPruningTest {
+
+    private static final Pattern SCANNED_PARTITION = Pattern.compile("on (accreditation_\\w+)");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private AccreditationRepository accreditationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Una consulta por rango de receipt_date solo debería recorrer las particiones del rango")
+    void receiptDateRangeQuery_shouldOnlyScanPartitionsInRange() {
+        AccreditationPartitionServiceImplementation partitionService =
+                new AccreditationPartitionServiceImplementation(new JdbcTemplate(dataSource));
+        partitionService.createPartitions(YearMonth.of(2020, 1), YearMonth.of(2024, 12));
+
+        accreditationRepository.saveAndFlush(accreditationAt(LocalDateTime.of(2021, 3, 10, 10, 0), 10000L));
+        accreditationRepository.saveAndFlush(accreditationAt(LocalDateTime.of(2024, 6, 5, 10, 0), 15000L));
+        accreditationRepository.saveAndFlush(accreditationAt(LocalDateTime.of(2024, 6, 20, 10, 0), 5000L));
+        entityManager.createNativeQuery("ANALYZE accreditation").executeUpdate();
+
+        List<String> plan = explain("SELECT sale_point_id, count(id), sum(amount_cents) FROM accreditation "
+                + "WHERE receipt_date >= TIMESTAMP '2024-06-01' AND receipt_date < TIMESTAMP '2024-07-01' GROUP BY sale_point_id");
+
+        assertThat(scannedPartitions(plan)).containsExactly("accreditation_2024_06");
+
+        List<SalePointSummaryDTO> summaries = accreditationRepository.summarizeBySalePoint(
+                LocalDateTime.of(2024, 6, 1, 0, 0), LocalDateTime.of(2024, 7, 1, 0, 0));
+        assertThat(summaries).containsExactly(new SalePointSummaryDTO(100L, 2L, 20000L, 5000L, 15000L));
+    }
+
+    @Test
+    @DisplayName("Un listado desde el inicio de la ventana no debería recorrer las particiones anteriores")
+    void listingFromWindowStart_shouldSkipOlderPartitions() {
+        AccreditationPartitionServiceImplementation partitionService =
+                new AccreditationPartitionServiceImplementation(new JdbcTemplate(dataSource));
+        partitionService.createPartitions(YearMonth.of(2020, 1), YearMonth.of(2024, 12));
+
+        Accreditation old = accreditationRepository.saveAndFlush(accreditationAt(LocalDateTime.of(2021, 3, 10, 10, 0), 10000L));
+        Accreditation recent = accreditationRepository.saveAndFlush(accreditationAt(LocalDateTime.of(2024, 6, 5, 10, 0), 15000L));
+        entityManager.createNativeQuery("ANALYZE accreditation").executeUpdate();
+
+        List<String> plan = explain("SELECT id FROM accreditation WHERE receipt_date >= TIMESTAMP '2024-05-01' "
+                + "AND deleted_at IS NULL ORDER BY id DESC LIMIT 21");
+
+        assertThat(scannedPartitions(plan)).contains("accreditation_2024_06")
+                .doesNotContain("accreditation_2021_03", "accreditation_2024_04");
+        assertThat(accreditationRepository.findDTOPage(LocalDateTime.of(2024, 5, 1, 0, 0), Limit.of(21)))
+                .extracting(AccreditationDTO::id).containsExactly(recent.getId());
+        assertThat(accreditationRepository.findDTOById(old.getId())).isPresent();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> explain(String sql) {
+        return (List<String>) entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+    }
+
+    private List<String> scannedPartitions(List<String> plan) {
+        return plan.stream()
+                .map(SCANNED_PARTITION::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> matcher.group(1))
+                .distinct()
+                .toList();
+    }
+
+    private Accreditation accreditationAt(LocalDateTime receiptDate, long amountCents) {
+        return new Accreditation(null, 100L, 200L, amountCents, "Punto 100", receiptDate, receiptDate, null, null);
+    }
+}
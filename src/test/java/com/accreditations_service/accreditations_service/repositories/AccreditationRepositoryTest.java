@@ -1,5 +1,8 @@
 package com.accreditations_service.accreditations_service.repositories;
 
+import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.dtos.PeriodSummaryDTO;
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
 import com.accreditations_service.accreditations_service.models.Accreditation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -7,10 +10,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,6 +24,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @DataJpaTest
 class AccreditationRepositoryTest {
 
+    private static final LocalDateTime FROM = LocalDateTime.of(2000, 1, 1, 0, 0);
+
     @Autowired
     private TestEntityManager entityManager;
 
@@ -33,7 +41,7 @@ class AccreditationRepositoryTest {
                 null,
                 100L,
                 200L,
-                150.75,
+                15075L,
                 "Punto de Venta Test A",
                 LocalDateTime.now().minusDays(1),
                 LocalDateTime.now().minusHours(2),
@@ -45,7 +53,7 @@ class AccreditationRepositoryTest {
                 null,
                 101L,
                 201L,
-                99.99,
+                9999L,
                 "Punto de Venta Test B",
                 LocalDateTime.now().minusDays(2),
                 LocalDateTime.now().minusHours(5),
@@ -64,7 +72,7 @@ class AccreditationRepositoryTest {
         assertTrue(foundAccreditationOptional.isPresent());
         Accreditation foundAccreditation = foundAccreditationOptional.get();
         assertThat(foundAccreditation.getSalePointName()).isEqualTo(accreditation1.getSalePointName());
-        assertThat(foundAccreditation.getAmount()).isEqualTo(accreditation1.getAmount());
+        assertThat(foundAccreditation.getAmountCents()).isEqualTo(accreditation1.getAmountCents());
         assertThat(foundAccreditation.getUserId()).isEqualTo(accreditation1.getUserId());
         assertThat(foundAccreditation.getId()).isEqualTo(savedAccreditation.getId());
     }
@@ -83,6 +91,83 @@ class AccreditationRepositoryTest {
                 .containsExactlyInAnyOrder("Punto de Venta Test A", "Punto de Venta Test B");
     }
 
+    @Test
+    @DisplayName("findDTOPage debería devolver las Accreditations más recientes primero respetando el límite")
+    void findDTOPage_shouldReturnNewestFirstWithinLimit() {
+        Accreditation saved1 = entityManager.persist(accreditation1);
+        Accreditation saved2 = entityManager.persist(accreditation2);
+        entityManager.flush();
+
+        List<AccreditationDTO> firstPage = accreditationRepository.findDTOPage(FROM, Limit.of(1));
+
+        assertThat(firstPage).extracting(AccreditationDTO::id).containsExactly(saved2.getId());
+
+        List<AccreditationDTO> nextPage = accreditationRepository.findDTOPageBefore(saved2.getId(), FROM, Limit.of(1));
+
+        assertThat(nextPage).extracting(AccreditationDTO::id).containsExactly(saved1.getId());
+    }
+
+    @Test
+    @DisplayName("findDTOPageByUserId debería devolver solo las Accreditations del usuario")
+    void findDTOPageByUserId_shouldReturnOnlyUserAccreditations() {
+        Accreditation newerAccreditation = new Accreditation(
+                null, 100L, accreditation1.getUserId(), 1000L, "Punto de Venta Test A",
+                LocalDateTime.now(), LocalDateTime.now(), null, null
+        );
+        Accreditation saved1 = entityManager.persist(accreditation1);
+        entityManager.persist(accreditation2);
+        Accreditation saved3 = entityManager.persist(newerAccreditation);
+        entityManager.flush();
+
+        List<AccreditationDTO> firstPage = accreditationRepository.findDTOPageByUserId(accreditation1.getUserId(), FROM, Limit.of(10));
+
+        assertThat(firstPage).extracting(AccreditationDTO::id).containsExactly(saved3.getId(), saved1.getId());
+
+        List<AccreditationDTO> nextPage = accreditationRepository.findDTOPageByUserIdBefore(accreditation1.getUserId(), saved3.getId(), FROM, Limit.of(10));
+
+        assertThat(nextPage).extracting(AccreditationDTO::id).containsExactly(saved1.getId());
+    }
+
+    @Test
+    @DisplayName("findDTOById debería construir el AccreditationDTO sin devolver la entidad")
+    void findDTOById_whenExists_shouldReturnProjection() {
+        Accreditation savedAccreditation = entityManager.persistAndFlush(accreditation1);
+        entityManager.clear();
+
+        Optional<AccreditationDTO> found = accreditationRepository.findDTOById(savedAccreditation.getId());
+
+        assertTrue(found.isPresent());
+        assertThat(found.get().salePointName()).isEqualTo(accreditation1.getSalePointName());
+        assertThat(found.get().amountCents()).isEqualTo(accreditation1.getAmountCents());
+        assertThat(found.get().amount()).isEqualTo(150.75);
+        assertThat(found.get().userId()).isEqualTo(accreditation1.getUserId());
+    }
+
+    @Test
+    @DisplayName("findDTOByIdAndUserId debería devolver la Accreditation solo a su propietario")
+    void findDTOByIdAndUserId_shouldReturnOnlyForOwner() {
+        Accreditation savedAccreditation = entityManager.persistAndFlush(accreditation1);
+
+        Optional<AccreditationDTO> owned = accreditationRepository.findDTOByIdAndUserId(savedAccreditation.getId(), accreditation1.getUserId());
+        Optional<AccreditationDTO> foreign = accreditationRepository.findDTOByIdAndUserId(savedAccreditation.getId(), 9999L);
+
+        assertTrue(owned.isPresent());
+        assertThat(owned.get().id()).isEqualTo(savedAccreditation.getId());
+        assertFalse(foreign.isPresent());
+    }
+
+    @Test
+    @DisplayName("streamAllDTOs debería recorrer todas las Accreditations ordenadas por ID")
+    void streamAllDTOs_shouldStreamAllInIdOrder() {
+        Accreditation saved1 = entityManager.persist(accreditation1);
+        Accreditation saved2 = entityManager.persist(accreditation2);
+        entityManager.flush();
+
+        try (Stream<AccreditationDTO> stream = accreditationRepository.streamAllDTOs(FROM)) {
+            assertThat(stream).extracting(AccreditationDTO::id).containsExactly(saved1.getId(), saved2.getId());
+        }
+    }
+
     @Test
     @DisplayName("findById debería devolver Optional.empty si no se encuentra la Accreditation")
     void findById_whenNotFound_shouldReturnEmptyOptional() {
@@ -124,6 +209,75 @@ class AccreditationRepositoryTest {
         assertFalse(exists);
     }
 
+    @Test
+    @DisplayName("summarizeBySalePoint - Debería agrupar por punto de venta dentro del rango")
+    void summarizeBySalePoint_shouldAggregateWithinRange() {
+        entityManager.persist(accreditationAt(100L, 10000L, LocalDateTime.of(2025, 1, 10, 10, 0)));
+        entityManager.persist(accreditationAt(100L, 30000L, LocalDateTime.of(2025, 1, 20, 10, 0)));
+        entityManager.persist(accreditationAt(101L, 5000L, LocalDateTime.of(2025, 1, 15, 10, 0)));
+        entityManager.persist(accreditationAt(100L, 99900L, LocalDateTime.of(2025, 2, 1, 0, 0)));
+        entityManager.flush();
+
+        List<SalePointSummaryDTO> summaries = accreditationRepository.summarizeBySalePoint(
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+
+        assertThat(summaries).containsExactly(
+                new SalePointSummaryDTO(100L, 2L, 40000L, 10000L, 30000L),
+                new SalePointSummaryDTO(101L, 1L, 5000L, 5000L, 5000L));
+    }
+
+    @Test
+    @DisplayName("summarizeByDay y summarizeByMonth - Deberían agrupar por fecha de recibo")
+    void summarizeByPeriod_shouldAggregateByReceiptDate() {
+        entityManager.persist(accreditationAt(100L, 10000L, LocalDateTime.of(2025, 1, 10, 8, 0)));
+        entityManager.persist(accreditationAt(101L, 20000L, LocalDateTime.of(2025, 1, 10, 18, 0)));
+        entityManager.persist(accreditationAt(100L, 6000L, LocalDateTime.of(2025, 2, 3, 12, 0)));
+        entityManager.flush();
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+        List<PeriodSummaryDTO> days = accreditationRepository.summarizeByDay(from, to);
+        List<PeriodSummaryDTO> months = accreditationRepository.summarizeByMonth(from, to);
+
+        assertThat(days).containsExactly(
+                new PeriodSummaryDTO(LocalDate.of(2025, 1, 10), 2L, 30000L, 10000L, 20000L),
+                new PeriodSummaryDTO(LocalDate.of(2025, 2, 3), 1L, 6000L, 6000L, 6000L));
+        assertThat(months).extracting(PeriodSummaryDTO::period)
+                .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1));
+    }
+
+    @Test
+    @DisplayName("Las consultas de lectura deberían ignorar las acreditaciones eliminadas lógicamente")
+    void readQueries_shouldSkipSoftDeletedAccreditations() {
+        Accreditation live = entityManager.persist(accreditation1);
+        accreditation2.setUserId(accreditation1.getUserId());
+        accreditation2.setDeletedAt(LocalDateTime.now());
+        Accreditation deleted = entityManager.persist(accreditation2);
+        entityManager.flush();
+
+        assertThat(accreditationRepository.findDTOById(deleted.getId())).isEmpty();
+        assertThat(accreditationRepository.existsLiveById(deleted.getId())).isFalse();
+        assertThat(accreditationRepository.findDTOPage(FROM, Limit.of(10))).extracting(AccreditationDTO::id).containsExactly(live.getId());
+        assertThat(accreditationRepository.findDTOPageByUserId(accreditation1.getUserId(), FROM, Limit.of(10)))
+                .extracting(AccreditationDTO::id).containsExactly(live.getId());
+    }
+
+    @Test
+    @DisplayName("Las búsquedas por ID deberían ser exactas y solo los listados acotarse por fecha de recibo")
+    void idLookups_shouldBeExactWhileListingsStartAtWindow() {
+        accreditation1.setReceiptDate(LocalDateTime.now().plusDays(3));
+        Accreditation future = entityManager.persist(accreditation1);
+        Accreditation old = entityManager.persist(accreditation2);
+        entityManager.flush();
+        LocalDateTime windowStart = accreditation2.getReceiptDate().plusSeconds(1);
+
+        assertThat(accreditationRepository.findDTOById(old.getId())).isPresent();
+        assertThat(accreditationRepository.findDTOById(future.getId())).isPresent();
+        assertThat(accreditationRepository.existsLiveById(old.getId())).isTrue();
+        assertThat(accreditationRepository.findDTOPage(windowStart, Limit.of(10))).extracting(AccreditationDTO::id)
+                .containsExactly(future.getId());
+    }
+
     @Test
     @DisplayName("Cuando se guarda y actualiza una Accreditation, los cambios deberían persistir")
     void whenSaveAndUpdated_thenChangesShouldPersist() {
@@ -135,11 +289,11 @@ class AccreditationRepositoryTest {
         Accreditation accreditationToUpdate = accreditationToUpdateOptional.get();
 
         String newName = "Punto de Venta Actualizado";
-        Double newAmount = 200.50;
+        long newAmountCents = 20050L;
         LocalDateTime newUpdatedAt = LocalDateTime.now();
 
         accreditationToUpdate.setSalePointName(newName);
-        accreditationToUpdate.setAmount(newAmount);
+        accreditationToUpdate.setAmountCents(newAmountCents);
         accreditationToUpdate.setUpdatedAt(newUpdatedAt);
 
         accreditationRepository.save(accreditationToUpdate);
@@ -151,6 +305,23 @@ class AccreditationRepositoryTest {
         Accreditation updatedAccreditation = updatedAccreditationOptional.get();
 
         assertThat(updatedAccreditation.getSalePointName()).isEqualTo(newName);
-        assertThat(updatedAccreditation.getAmount()).isEqualTo(newAmount);
+        assertThat(updatedAccreditation.getAmountCents()).isEqualTo(newAmountCents);
+    }
+
+    @Test
+    @DisplayName("saveAll debería asignar ids consecutivos del bloque reservado a la secuencia")
+    void saveAll_shouldAssignConsecutiveIdsFromReservedBlock() {
+        List<Accreditation> saved = accreditationRepository.saveAll(List.of(
+                accreditationAt(100L, 1000L, LocalDateTime.now()),
+                accreditationAt(100L, 2000L, LocalDateTime.now()),
+                accreditationAt(101L, 3000L, LocalDateTime.now())));
+        entityManager.flush();
+
+        assertThat(saved).extracting(Accreditation::getId)
+                .containsExactly(saved.get(0).getId(), saved.get(0).getId() + 1, saved.get(0).getId() + 2);
+    }
+
+    private Accreditation accreditationAt(Long salePointId, long amountCents, LocalDateTime receiptDate) {
+        return new Accreditation(null, salePointId, 200L, amountCents, "Punto " + salePointId, receiptDate, receiptDate, null, null);
     }
 }
@@ -0,0 +1,135 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.services.implementations.AccreditationArchivalServiceImplementation;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccreditationArchivalServiceImplementationTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache accreditationsCache;
+
+    @Mock
+    private AccreditationVersionService accreditationVersionService;
+
+    @InjectMocks
+    private AccreditationArchivalServiceImplementation archivalService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(archivalService, "horizon", Duration.ofDays(730));
+        ReflectionTestUtils.setField(archivalService, "batchSize", 2);
+        ReflectionTestUtils.setField(archivalService, "pause", Duration.ZERO);
+        ReflectionTestUtils.setField(archivalService, "maxBatchesPerRun", 10);
+        lenient().when(cacheManager.getCache(Constants.ACCREDITATIONS_CACHE)).thenReturn(accreditationsCache);
+    }
+
+    @Test
+    @DisplayName("archiveAccreditations - Debería mover primero las eliminadas y luego las antiguas, en lotes acotados")
+    void archiveAccreditations_shouldMoveDeletedThenExpiredInBatches() {
+        when(jdbcTemplate.queryForList(contains("deleted_at IS NOT NULL LIMIT"), eq(2)))
+                .thenReturn(movedRows(1L, 2L), movedRows(3L));
+        when(jdbcTemplate.queryForList(contains("receipt_date < ? LIMIT"), any(Timestamp.class), eq(2)))
+                .thenReturn(movedRows(4L, 5L), List.of());
+
+        int archived = archivalService.archiveAccreditations();
+
+        assertEquals(5, archived);
+        verify(jdbcTemplate, times(4)).queryForList(anyString(), any(Object[].class));
+        verify(transactionManager, times(4)).commit(any());
+        verify(accreditationsCache).evict(1L);
+        verify(accreditationsCache).evict(5L);
+    }
+
+    @Test
+    @DisplayName("archiveAccreditations - Debería incrementar las versiones de los usuarios de cada lote movido")
+    void archiveAccreditations_shouldRecordChangeForMovedUsers() {
+        when(jdbcTemplate.queryForList(contains("deleted_at IS NOT NULL LIMIT"), eq(2)))
+                .thenReturn(movedRows(1L, 2L), List.of());
+        when(jdbcTemplate.queryForList(contains("receipt_date < ? LIMIT"), any(Timestamp.class), eq(2)))
+                .thenReturn(List.of());
+
+        archivalService.archiveAccreditations();
+
+        verify(accreditationVersionService, times(1)).recordChange(List.of(201L, 202L));
+    }
+
+    @Test
+    @DisplayName("startArchival - Debería ejecutar el archivado fuera del hilo del scheduler")
+    void startArchival_shouldRunOffTheCallingThread() {
+        Thread caller = Thread.currentThread();
+        List<Thread> runners = new CopyOnWriteArrayList<>();
+        when(jdbcTemplate.queryForList(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            runners.add(Thread.currentThread());
+            return List.of();
+        });
+
+        archivalService.startArchival();
+
+        verify(jdbcTemplate, timeout(1000).times(2)).queryForList(anyString(), any(Object[].class));
+        assertFalse(runners.contains(caller));
+        archivalService.stopArchivalExecutor();
+    }
+
+    @Test
+    @DisplayName("archiveAccreditations - Debería detenerse al alcanzar el máximo de lotes por ejecución")
+    void archiveAccreditations_shouldStopAtMaxBatches() {
+        ReflectionTestUtils.setField(archivalService, "maxBatchesPerRun", 3);
+        when(jdbcTemplate.queryForList(contains("deleted_at IS NOT NULL LIMIT"), eq(2)))
+                .thenReturn(movedRows(1L, 2L));
+
+        int archived = archivalService.archiveAccreditations();
+
+        assertEquals(6, archived);
+        verify(jdbcTemplate, never()).queryForList(contains("receipt_date < ? LIMIT"), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("archiveAccreditations - Sin filas para archivar, debería terminar con un lote por criterio")
+    void archiveAccreditations_whenNothingToArchive_shouldReturnZero() {
+        when(jdbcTemplate.queryForList(anyString(), any(Object[].class))).thenReturn(List.of());
+
+        int archived = archivalService.archiveAccreditations();
+
+        assertEquals(0, archived);
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), any(Object[].class));
+        verifyNoInteractions(accreditationsCache, accreditationVersionService);
+    }
+
+    // Each moved row belongs to user 200 + its id
+    private static List<Map<String, Object>> movedRows(Long... ids) {
+        return Arrays.stream(ids).map(id -> Map.<String, Object>of("id", id, "user_id", 200L + id)).toList();
+    }
+}
@@ -3,25 +3,33 @@ package com.accreditations_service.accreditations_service.services;
 import com.accreditations_service.accreditations_service.config.RabbitMQConfig;
 import com.accreditations_service.accreditations_service.dtos.AccreditationDataForPdf;
 import com.accreditations_service.accreditations_service.dtos.AccreditationPdfEvent;
+import com.accreditations_service.accreditations_service.dtos.PdfEventPublishResult;
 import com.accreditations_service.accreditations_service.services.implementations.AccreditationEventPublisherServiceImplementation;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.AdditionalMatchers.not;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,15 +38,16 @@ class AccreditationEventPublisherServiceImplementationTest {
     @Mock
     private RabbitTemplate rabbitTemplate;
 
-    @Spy
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private AccreditationEventPublisherServiceImplementation eventPublisher;
 
     private AccreditationPdfEvent testPdfEvent;
-    private Long testAccreditationId;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventPublisher = new AccreditationEventPublisherServiceImplementation(rabbitTemplate, meterRegistry, Duration.ofSeconds(5), 2, Duration.ofMillis(10));
         AccreditationDataForPdf pdfData = new AccreditationDataForPdf(
                 1L, "Test Sale Point", 100L, "test@example.com",
                 150.75, LocalDateTime.now(), LocalDateTime.now()
@@ -46,73 +55,102 @@ class AccreditationEventPublisherServiceImplementationTest {
         testPdfEvent = new AccreditationPdfEvent(
                 "test@example.com", "Test Subject", "Test Body Header", pdfData
         );
-        testAccreditationId = 1L;
     }
 
     @Test
-    @DisplayName("publishAccreditationEvent - Debería enviar mensaje a RabbitMQ exitosamente")
-    void publishAccreditationEvent_onSuccess_shouldSendMessage() {
+    @DisplayName("publishAsync - El futuro debería completarse con el ack del broker y liberar la ventana")
+    void publishAsync_onAck_shouldCompleteAndReleaseWindow() throws Exception {
+        confirmSendsWith(new CorrelationData.Confirm(true, null));
 
-        eventPublisher.publishAccreditationEvent(testPdfEvent, testAccreditationId);
+        eventPublisher.publishAsync(testPdfEvent).get(1, TimeUnit.SECONDS);
 
-        verify(rabbitTemplate, times(1)).convertAndSend(
-                eq(RabbitMQConfig.EXCHANGE_NAME),
-                eq(RabbitMQConfig.ROUTING_KEY_PDF),
-                eq(testPdfEvent)
-        );
-        verify(eventPublisher, never()).recoverPublishAccreditationEvent(isA(AmqpException.class), eq(testPdfEvent), eq(testAccreditationId));
-        verify(eventPublisher, never()).recoverPublishAccreditationEvent(not(isA(AmqpException.class)), eq(testPdfEvent), eq(testAccreditationId));
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.EXCHANGE_NAME), eq(RabbitMQConfig.ROUTING_KEY_PDF), eq(testPdfEvent), any(CorrelationData.class));
+        assertEquals(0.0, meterRegistry.get(Constants.PUBLISHER_IN_FLIGHT_METRIC).gauge().value());
+        assertEquals(1L, meterRegistry.get(Constants.PUBLISHER_CONFIRM_LATENCY_METRIC).timer().count());
     }
 
     @Test
-    @DisplayName("publishAccreditationEvent - Debería propagar AmqpException si RabbitTemplate falla y AOP de Retry no está activo")
-    void publishAccreditationEvent_onAmqpException_shouldPropagateIfAopNotActive() {
-        AmqpException amqpException = new AmqpException("Test AMQP connection refused");
-        doThrow(amqpException)
-                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(AccreditationPdfEvent.class));
-
-        assertThrows(AmqpException.class, () -> {
-            eventPublisher.publishAccreditationEvent(testPdfEvent, testAccreditationId);
-        });
-
-        verify(rabbitTemplate, times(1)).convertAndSend(
-                eq(RabbitMQConfig.EXCHANGE_NAME),
-                eq(RabbitMQConfig.ROUTING_KEY_PDF),
-                eq(testPdfEvent)
-        );
-        verify(eventPublisher, never()).recoverPublishAccreditationEvent(any(AmqpException.class), any(), anyLong());
-        verify(eventPublisher, never()).recoverPublishAccreditationEvent(not(isA(AmqpException.class)), any(), anyLong());    }
+    @DisplayName("publishAsync - Con un nack del broker, el futuro debería fallar y contarse el nack")
+    void publishAsync_onNack_shouldFailAndCountNack() {
+        confirmSendsWith(new CorrelationData.Confirm(false, "queue full"));
 
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> eventPublisher.publishAsync(testPdfEvent).get(1, TimeUnit.SECONDS));
+
+        assertInstanceOf(AmqpException.class, exception.getCause());
+        assertEquals(1.0, meterRegistry.get(Constants.PUBLISHER_NACKS_METRIC).tag("reason", "nack").counter().count());
+        assertEquals(0.0, meterRegistry.get(Constants.PUBLISHER_IN_FLIGHT_METRIC).gauge().value());
+    }
 
     @Test
-    @DisplayName("publishAccreditationEvent - Debería propagar RuntimeException no AMQP y no llamar a recover vía Retryable")
-    void publishAccreditationEvent_onRuntimeException_shouldThrowAndNotCallRecoverViaRetryable() {
-        RuntimeException runtimeException = new RuntimeException("Test runtime exception, no es AmqpException");
-        doThrow(runtimeException)
-                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(AccreditationPdfEvent.class));
-
-        assertThrows(RuntimeException.class, () -> {
-            eventPublisher.publishAccreditationEvent(testPdfEvent, testAccreditationId);
-        });
-
-        verify(rabbitTemplate, times(1)).convertAndSend(
-                eq(RabbitMQConfig.EXCHANGE_NAME),
-                eq(RabbitMQConfig.ROUTING_KEY_PDF),
-                eq(testPdfEvent)
-        );
-        verify(eventPublisher, never()).recoverPublishAccreditationEvent(isA(AmqpException.class), eq(testPdfEvent), eq(testAccreditationId));
-        verify(eventPublisher, never()).recoverPublishAccreditationEvent(not(isA(AmqpException.class)), eq(testPdfEvent), eq(testAccreditationId));
+    @DisplayName("publishAsync - Con la ventana de envíos llena, debería fallar sin enviar")
+    void publishAsync_whenWindowFull_shouldFailWithoutSending() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventPublisher = new AccreditationEventPublisherServiceImplementation(rabbitTemplate, meterRegistry, Duration.ofSeconds(5), 1, Duration.ofMillis(10));
+
+        CompletableFuture<Void> pending = eventPublisher.publishAsync(testPdfEvent);
+        CompletableFuture<Void> rejected = eventPublisher.publishAsync(testPdfEvent);
+
+        assertTrue(rejected.isCompletedExceptionally());
+        assertFalse(pending.isDone());
+        assertEquals(1.0, meterRegistry.get(Constants.PUBLISHER_IN_FLIGHT_METRIC).gauge().value());
+        verify(rabbitTemplate, times(1)).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    @Test
+    @DisplayName("publishAsync - Sin confirmación a tiempo, debería fallar, contar el timeout y no registrar latencia")
+    void publishAsync_onConfirmTimeout_shouldFailAndCountTimeoutWithoutLatency() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventPublisher = new AccreditationEventPublisherServiceImplementation(rabbitTemplate, meterRegistry, Duration.ofMillis(50), 1, Duration.ofMillis(10));
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> eventPublisher.publishAsync(testPdfEvent).get(1, TimeUnit.SECONDS));
+
+        assertInstanceOf(AmqpException.class, exception.getCause());
+        assertEquals(1.0, meterRegistry.get(Constants.PUBLISHER_NACKS_METRIC).tag("reason", "timeout").counter().count());
+        assertEquals(0L, meterRegistry.get(Constants.PUBLISHER_CONFIRM_LATENCY_METRIC).timer().count());
+        assertEquals(0.0, meterRegistry.get(Constants.PUBLISHER_IN_FLIGHT_METRIC).gauge().value());
     }
 
+    @Test
+    @DisplayName("publishConfirmed - Debería enviar todos los eventos sin esperar uno a uno y terminar cuando el broker confirma todos")
+    void publishConfirmed_shouldPipelineSendsAndWaitForAllConfirms() {
+        confirmSendsWith(new CorrelationData.Confirm(true, null));
+        AccreditationPdfEvent secondEvent = new AccreditationPdfEvent(
+                "other@example.com", "Test Subject 2", "Test Body Header", testPdfEvent.getAccreditationData()
+        );
+
+        List<PdfEventPublishResult> results = eventPublisher.publishConfirmed(List.of(testPdfEvent, secondEvent));
+
+        assertEquals(List.of(PdfEventPublishResult.ok(), PdfEventPublishResult.ok()), results);
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.EXCHANGE_NAME), eq(RabbitMQConfig.ROUTING_KEY_PDF), eq(testPdfEvent), any(CorrelationData.class));
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.EXCHANGE_NAME), eq(RabbitMQConfig.ROUTING_KEY_PDF), eq(secondEvent), any(CorrelationData.class));
+    }
 
     @Test
-    @DisplayName("recoverPublishAccreditationEvent (AmqpException) - Debería loguear el error correctamente")
-    void recoverPublishAccreditationEvent_amqpException_shouldLog() {
-        AmqpException amqpEx = new AmqpException("Test AMQP connection error for direct recover call");
+    @DisplayName("publishConfirmed - Debería informar el resultado de cada evento, marcando como fallido solo el que recibe nack")
+    void publishConfirmed_whenOneEventNacked_shouldReportEachOutcome() {
+        AccreditationPdfEvent secondEvent = new AccreditationPdfEvent(
+                "other@example.com", "Test Subject 2", "Test Body Header", testPdfEvent.getAccreditationData()
+        );
+        doAnswer(invocation -> {
+            boolean ack = invocation.getArgument(2) == testPdfEvent;
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
 
-        eventPublisher.recoverPublishAccreditationEvent(amqpEx, testPdfEvent, testAccreditationId);
+        List<PdfEventPublishResult> results = eventPublisher.publishConfirmed(List.of(testPdfEvent, secondEvent));
+
+        assertTrue(results.get(0).confirmed());
+        assertFalse(results.get(1).confirmed());
+        assertTrue(results.get(1).error().contains("queue full"));
+    }
 
-        assertTrue(true, "El método Recover para AmqpException se ejecutó.");
+    private void confirmSendsWith(CorrelationData.Confirm confirm) {
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(confirm);
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.config.ReceiptDateWindow;
+import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
+import com.accreditations_service.accreditations_service.repositories.AccreditationRepository;
+import com.accreditations_service.accreditations_service.services.implementations.AccreditationExportServiceImplementation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccreditationExportServiceImplementationTest {
+
+    @Mock
+    private AccreditationRepository accreditationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AccreditationExportServiceImplementation exportService;
+
+    private AccreditationDTO accreditation1;
+    private AccreditationDTO accreditation2;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new AccreditationExportServiceImplementation(accreditationRepository, transactionManager, objectMapper,
+                new ReceiptDateWindow(false, Duration.ofDays(730), Duration.ofDays(30), Duration.ofMinutes(5)));
+        ReflectionTestUtils.setField(exportService, "flushEvery", 1);
+
+        accreditation1 = new AccreditationDTO(1L, 100L, 200L, "Punto A", 15075L, LocalDateTime.of(2025, 1, 10, 12, 0));
+        accreditation2 = new AccreditationDTO(2L, 101L, 201L, "Punto \"B\", Centro", 9999L, LocalDateTime.of(2025, 1, 11, 9, 30));
+    }
+
+    @Test
+    @DisplayName("exportAccreditations - En formato NDJSON, debería escribir una línea JSON por acreditación")
+    void exportAccreditations_asNdjson_shouldWriteOneJsonLinePerAccreditation() throws Exception {
+        when(accreditationRepository.streamAllDTOs(any(LocalDateTime.class))).thenReturn(Stream.of(accreditation1, accreditation2));
+
+        ResponseEntity<StreamingResponseBody> response = exportService.exportAccreditations("ndjson");
+        String output = writeBody(response);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).contains("accreditations.ndjson");
+        String[] lines = output.split("\n");
+        assertEquals(2, lines.length);
+        assertThat(lines[0]).startsWith("{\"id\":1,")
+                .contains("\"amount\":150.75")
+                .doesNotContain("amountCents")
+                .contains("\"receiptDate\":\"2025-01-10T12:00:00\"");
+        assertThat(lines[1]).startsWith("{\"id\":2,");
+    }
+
+    @Test
+    @DisplayName("exportAccreditations - En formato CSV, debería escribir cabecera y escapar valores")
+    void exportAccreditations_asCsv_shouldWriteHeaderAndEscapeValues() throws Exception {
+        when(accreditationRepository.streamAllDTOs(any(LocalDateTime.class))).thenReturn(Stream.of(accreditation1, accreditation2));
+
+        ResponseEntity<StreamingResponseBody> response = exportService.exportAccreditations("CSV");
+        String output = writeBody(response);
+
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertEquals("id,salePointId,userId,salePointName,amount,receiptDate\n"
+                + "1,100,200,Punto A,150.75,2025-01-10T12:00\n"
+                + "2,101,201,\"Punto \"\"B\"\", Centro\",99.99,2025-01-11T09:30\n", output);
+    }
+
+    @Test
+    @DisplayName("exportAccreditations - Con formato no soportado, debería lanzar AccreditationException (BAD_REQUEST)")
+    void exportAccreditations_withUnsupportedFormat_shouldThrowAccreditationException() {
+        AccreditationException exception = assertThrows(AccreditationException.class, () -> {
+            exportService.exportAccreditations("xml");
+        });
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verifyNoInteractions(accreditationRepository);
+    }
+
+    private String writeBody(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertNotNull(response.getBody());
+        response.getBody().writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
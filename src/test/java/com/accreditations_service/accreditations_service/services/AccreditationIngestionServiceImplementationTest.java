@@ -0,0 +1,315 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.config.ReceiptDateWindow;
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchItemResultDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchResultDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationRequestStatusDTO;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationBatchRequest;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationRequest;
+import com.accreditations_service.accreditations_service.enums.AccreditationRequestState;
+import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
+import com.accreditations_service.accreditations_service.exceptions.UserException;
+import com.accreditations_service.accreditations_service.services.implementations.AccreditationIngestionServiceImplementation;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccreditationIngestionServiceImplementationTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private AccreditationService accreditationService;
+
+    private AccreditationIngestionServiceImplementation ingestionService;
+
+    private final CreateAccreditationRequest createRequest = new CreateAccreditationRequest(100L, 150.75, null);
+
+    private final ReceiptDateWindow receiptDateWindow = new ReceiptDateWindow(false, Duration.ofDays(730),
+            Duration.ofDays(30), Duration.ofMinutes(5));
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        SecurityContextHolder.clearContext();
+        if (ingestionService != null) {
+            ingestionService.stopWorkers();
+        }
+    }
+
+    @Test
+    @DisplayName("submitAccreditation - Debería devolver 202 y el estado CREATED una vez procesada por el worker")
+    void submitAccreditation_shouldAcceptAndCompleteInBackground() throws InterruptedException {
+        AccreditationDTO accreditationDTO = new AccreditationDTO(5L, 100L, USER_ID, "Punto", 15075L, LocalDateTime.now());
+        when(accreditationService.createAccreditations(eq(EMAIL), any(CreateAccreditationBatchRequest.class)))
+                .thenReturn(new ResponseEntity<>(new AccreditationBatchResultDTO(1, 0,
+                        List.of(AccreditationBatchItemResultDTO.created(0, accreditationDTO))), HttpStatus.CREATED));
+        ingestionService = startedIngestionService(10);
+
+        ResponseEntity<AccreditationRequestStatusDTO> response = ingestionService.submitAccreditation(EMAIL, USER_ID, createRequest);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        String requestId = response.getBody().requestId();
+        assertEquals(Constants.ACCREDITATION_REQUESTS_PATH + requestId, response.getHeaders().getLocation().toString());
+        AccreditationRequestStatusDTO status = awaitCompletion(requestId);
+        assertEquals(AccreditationRequestState.CREATED, status.state());
+        assertEquals(accreditationDTO, status.accreditation());
+    }
+
+    @Test
+    @DisplayName("submitAccreditation - Si la creación del lote falla, las solicitudes deberían quedar FAILED")
+    void submitAccreditation_whenBatchFails_shouldMarkRequestsFailed() throws InterruptedException {
+        when(accreditationService.createAccreditations(eq(EMAIL), any(CreateAccreditationBatchRequest.class)))
+                .thenThrow(new UserException(Constants.USER_NOT_FOUND + EMAIL, HttpStatus.NOT_FOUND));
+        ingestionService = startedIngestionService(10);
+
+        String requestId = ingestionService.submitAccreditation(EMAIL, USER_ID, createRequest).getBody().requestId();
+
+        AccreditationRequestStatusDTO status = awaitCompletion(requestId);
+        assertEquals(AccreditationRequestState.FAILED, status.state());
+        assertEquals(Constants.USER_NOT_FOUND + EMAIL, status.error());
+    }
+
+    @Test
+    @DisplayName("submitAccreditation - Con la cola llena, debería lanzar AccreditationException TOO_MANY_REQUESTS")
+    void submitAccreditation_whenQueueFull_shouldThrowTooManyRequests() throws InterruptedException {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(accreditationService.createAccreditations(eq(EMAIL), any(CreateAccreditationBatchRequest.class))).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new ResponseEntity<>(new AccreditationBatchResultDTO(0, 0, List.of()), HttpStatus.MULTI_STATUS);
+        });
+        ingestionService = startedIngestionService(1);
+
+        ingestionService.submitAccreditation(EMAIL, USER_ID, createRequest);
+        assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+        ingestionService.submitAccreditation(EMAIL, USER_ID, createRequest);
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> ingestionService.submitAccreditation(EMAIL, USER_ID, createRequest));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getHttpStatus());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("stopWorkers - Toda solicitud aceptada mientras se detiene el servicio debería quedar procesada al terminar")
+    void stopWorkers_racingWithSubmissions_shouldProcessEveryAcceptedRequest() throws Exception {
+        AccreditationDTO accreditationDTO = new AccreditationDTO(5L, 100L, USER_ID, "Punto", 15075L, LocalDateTime.now());
+        when(accreditationService.createAccreditations(eq(EMAIL), any(CreateAccreditationBatchRequest.class))).thenAnswer(invocation -> {
+            CreateAccreditationBatchRequest batch = invocation.getArgument(1);
+            List<AccreditationBatchItemResultDTO> results = IntStream.range(0, batch.accreditations().size())
+                    .mapToObj(index -> AccreditationBatchItemResultDTO.created(index, accreditationDTO))
+                    .toList();
+            return new ResponseEntity<>(new AccreditationBatchResultDTO(results.size(), 0, results), HttpStatus.CREATED);
+        });
+        ExecutorService submitters = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 20; round++) {
+                ingestionService = startedIngestionService(10_000);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<List<String>>> accepted = IntStream.range(0, 4)
+                        .mapToObj(submitter -> submitters.submit(() -> submitUntilRejected(start)))
+                        .toList();
+
+                start.countDown();
+                Thread.sleep(round % 5);
+                ingestionService.stopWorkers();
+
+                for (Future<List<String>> submitterAccepted : accepted) {
+                    for (String requestId : submitterAccepted.get(10, TimeUnit.SECONDS)) {
+                        assertEquals(AccreditationRequestState.CREATED, ingestionService.getRequestStatus(USER_ID, requestId).getBody().state());
+                    }
+                }
+            }
+        } finally {
+            submitters.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("submitAccreditation - Sin el modo asíncrono habilitado, debería lanzar AccreditationException SERVICE_UNAVAILABLE")
+    void submitAccreditation_whenDisabled_shouldThrowServiceUnavailable() {
+        ingestionService = new AccreditationIngestionServiceImplementation(accreditationService, receiptDateWindow, false, 10, 1, 10,
+                Duration.ofMinutes(1), Duration.ofSeconds(5));
+        ingestionService.startWorkers();
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> ingestionService.submitAccreditation(EMAIL, USER_ID, createRequest));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        verifyNoInteractions(accreditationService);
+    }
+
+    @Test
+    @DisplayName("submitAccreditation - Sin importe, debería lanzar AccreditationException BAD_REQUEST sin encolar")
+    void submitAccreditation_withoutAmount_shouldThrowBadRequest() {
+        ingestionService = startedIngestionService(10);
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> ingestionService.submitAccreditation(EMAIL, USER_ID, new CreateAccreditationRequest(100L, null, null)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verifyNoInteractions(accreditationService);
+    }
+
+    @Test
+    @DisplayName("submitAccreditation - Con fecha de recibo futura, debería lanzar AccreditationException BAD_REQUEST sin encolar")
+    void submitAccreditation_withFutureReceiptDate_shouldThrowBadRequest() {
+        ingestionService = startedIngestionService(10);
+        CreateAccreditationRequest futureRequest = new CreateAccreditationRequest(100L, 150.75, LocalDateTime.now().plusDays(1));
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> ingestionService.submitAccreditation(EMAIL, USER_ID, futureRequest));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verifyNoInteractions(accreditationService);
+    }
+
+    @Test
+    @DisplayName("submitAccreditation - Con un importe fuera de rango, debería lanzar AccreditationException BAD_REQUEST sin encolar")
+    void submitAccreditation_withOutOfRangeAmount_shouldThrowBadRequest() {
+        ingestionService = startedIngestionService(10);
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> ingestionService.submitAccreditation(EMAIL, USER_ID, new CreateAccreditationRequest(100L, 1e13, null)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verifyNoInteractions(accreditationService);
+    }
+
+    @Test
+    @DisplayName("submitAccreditation - Solicitudes con tokens distintos deberían procesarse cada una con su propio token")
+    void submitAccreditation_withDifferentTokens_shouldRunEachGroupUnderItsOwnToken() throws InterruptedException {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Authentication> seen = new ConcurrentLinkedQueue<>();
+        when(accreditationService.createAccreditations(eq(EMAIL), any(CreateAccreditationBatchRequest.class))).thenAnswer(invocation -> {
+            seen.add(SecurityContextHolder.getContext().getAuthentication());
+            workerBusy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new ResponseEntity<>(new AccreditationBatchResultDTO(0, 1,
+                    List.of(AccreditationBatchItemResultDTO.failed(0, HttpStatus.NOT_FOUND, Constants.USER_NOT_FOUND))), HttpStatus.MULTI_STATUS);
+        });
+        ingestionService = startedIngestionService(10);
+        Authentication blocking = jwtAuthentication(Instant.now().plusSeconds(300));
+        Authentication first = jwtAuthentication(Instant.now().plusSeconds(300));
+        Authentication second = jwtAuthentication(Instant.now().plusSeconds(300));
+
+        submitAs(blocking);
+        assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+        String firstId = submitAs(first);
+        String secondId = submitAs(second);
+        release.countDown();
+
+        awaitCompletion(firstId);
+        awaitCompletion(secondId);
+        assertEquals(List.of(blocking, first, second), List.copyOf(seen));
+    }
+
+    @Test
+    @DisplayName("submitAccreditation - Si el token expiró mientras estaba en cola, debería quedar FAILED sin crear nada")
+    void submitAccreditation_whenTokenExpiredWhileQueued_shouldFailWithoutCreating() throws InterruptedException {
+        ingestionService = startedIngestionService(10);
+
+        String requestId = submitAs(jwtAuthentication(Instant.now().minusSeconds(1)));
+
+        AccreditationRequestStatusDTO status = awaitCompletion(requestId);
+        assertEquals(AccreditationRequestState.FAILED, status.state());
+        assertEquals(Constants.INGESTION_TOKEN_EXPIRED, status.error());
+        verifyNoInteractions(accreditationService);
+    }
+
+    @Test
+    @DisplayName("getRequestStatus - Una solicitud de otro usuario debería informarse como inexistente")
+    void getRequestStatus_forAnotherUser_shouldThrowNotFound() {
+        CountDownLatch release = new CountDownLatch(1);
+        lenient().when(accreditationService.createAccreditations(eq(EMAIL), any(CreateAccreditationBatchRequest.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new ResponseEntity<>(new AccreditationBatchResultDTO(0, 0, List.of()), HttpStatus.MULTI_STATUS);
+        });
+        ingestionService = startedIngestionService(10);
+        String requestId = ingestionService.submitAccreditation(EMAIL, USER_ID, createRequest).getBody().requestId();
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> ingestionService.getRequestStatus(99L, requestId));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+        release.countDown();
+    }
+
+    private AccreditationIngestionServiceImplementation startedIngestionService(int queueCapacity) {
+        AccreditationIngestionServiceImplementation service = new AccreditationIngestionServiceImplementation(
+                accreditationService, receiptDateWindow, true, queueCapacity, 1, 10, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        service.startWorkers();
+        return service;
+    }
+
+    private List<String> submitUntilRejected(CountDownLatch start) throws InterruptedException {
+        start.await(5, TimeUnit.SECONDS);
+        List<String> accepted = new ArrayList<>();
+        while (true) {
+            try {
+                accepted.add(ingestionService.submitAccreditation(EMAIL, USER_ID, createRequest).getBody().requestId());
+            } catch (AccreditationException e) {
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getHttpStatus());
+                return accepted;
+            }
+        }
+    }
+
+    private String submitAs(Authentication authentication) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return ingestionService.submitAccreditation(EMAIL, USER_ID, createRequest).getBody().requestId();
+    }
+
+    private static Authentication jwtAuthentication(Instant expiresAt) {
+        Jwt jwt = Jwt.withTokenValue("token-" + System.nanoTime())
+                .header("alg", "none")
+                .subject(EMAIL)
+                .issuedAt(expiresAt.minusSeconds(600))
+                .expiresAt(expiresAt)
+                .build();
+        return new JwtAuthenticationToken(jwt);
+    }
+
+    private AccreditationRequestStatusDTO awaitCompletion(String requestId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        AccreditationRequestStatusDTO status = ingestionService.getRequestStatus(USER_ID, requestId).getBody();
+        while (status.state() == AccreditationRequestState.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = ingestionService.getRequestStatus(USER_ID, requestId).getBody();
+        }
+        return status;
+    }
+}
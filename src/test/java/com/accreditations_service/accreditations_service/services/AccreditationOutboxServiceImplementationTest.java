@@ -0,0 +1,201 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.dtos.AccreditationDataForPdf;
+import com.accreditations_service.accreditations_service.dtos.AccreditationPdfEvent;
+import com.accreditations_service.accreditations_service.dtos.OutboxEventsEnqueued;
+import com.accreditations_service.accreditations_service.dtos.PdfEventPublishResult;
+import com.accreditations_service.accreditations_service.models.AccreditationOutboxEvent;
+import com.accreditations_service.accreditations_service.repositories.AccreditationOutboxRepository;
+import com.accreditations_service.accreditations_service.services.implementations.AccreditationOutboxServiceImplementation;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccreditationOutboxServiceImplementationTest {
+
+    @Mock
+    private AccreditationOutboxRepository accreditationOutboxRepository;
+
+    @Mock
+    private AccreditationEventPublisherService accreditationEventPublisherService;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private AccreditationOutboxServiceImplementation outboxService;
+
+    private AccreditationPdfEvent pdfEvent;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new AccreditationOutboxServiceImplementation(accreditationOutboxRepository,
+                accreditationEventPublisherService, applicationEventPublisher, transactionManager, objectMapper,
+                meterRegistry, 2, 10, 1, 1, 3, Duration.ofSeconds(1), Duration.ofMinutes(5));
+
+        AccreditationDataForPdf pdfData = new AccreditationDataForPdf(
+                7L, "Test Sale Point", 1L, "user@example.com", 150.75, LocalDateTime.now(), LocalDateTime.now());
+        pdfEvent = new AccreditationPdfEvent("user@example.com", "Subject", "Header", pdfData);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxService.stopRelayExecutor();
+    }
+
+    @Test
+    @DisplayName("enqueue - Debería guardar cada evento serializado junto al ID de su acreditación")
+    void enqueue_shouldSaveSerializedEvents() throws Exception {
+        outboxService.enqueue(List.of(pdfEvent));
+
+        ArgumentCaptor<List<AccreditationOutboxEvent>> rowsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(accreditationOutboxRepository, times(1)).saveAll(rowsCaptor.capture());
+        AccreditationOutboxEvent row = rowsCaptor.getValue().get(0);
+        assertEquals(7L, row.getAccreditationId());
+        assertNotNull(row.getCreatedAt());
+        assertEquals(pdfEvent.getTo(), objectMapper.readValue(row.getPayload(), AccreditationPdfEvent.class).getTo());
+        verify(applicationEventPublisher, times(1)).publishEvent(new OutboxEventsEnqueued(1));
+        verifyNoInteractions(accreditationEventPublisherService);
+    }
+
+    @Test
+    @DisplayName("onEventsEnqueued - Tras el commit debería lanzar el reenvío en segundo plano")
+    void onEventsEnqueued_shouldRelayInBackground() throws Exception {
+        CountDownLatch published = new CountDownLatch(1);
+        when(accreditationOutboxRepository.lockNextBatch(any(LocalDateTime.class), eq(2))).thenReturn(List.of(outboxRow(1L, 0)));
+        doAnswer(invocation -> {
+            published.countDown();
+            return List.of(PdfEventPublishResult.ok());
+        }).when(accreditationEventPublisherService).publishConfirmed(anyList());
+
+        outboxService.onEventsEnqueued(new OutboxEventsEnqueued(1));
+
+        assertTrue(published.await(5, TimeUnit.SECONDS));
+        verify(accreditationOutboxRepository, timeout(5000)).deleteByIds(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("onEventsEnqueued - Con el pool de reenvío saturado, debería descartar el disparo y contarlo como rechazado")
+    void onEventsEnqueued_whenRelayPoolSaturated_shouldCountRejection() throws Exception {
+        CountDownLatch relaying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(accreditationOutboxRepository.lockNextBatch(any(LocalDateTime.class), eq(2))).thenAnswer(invocation -> {
+            relaying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        outboxService.onEventsEnqueued(new OutboxEventsEnqueued(1));
+        assertTrue(relaying.await(5, TimeUnit.SECONDS));
+        outboxService.onEventsEnqueued(new OutboxEventsEnqueued(1));
+        outboxService.onEventsEnqueued(new OutboxEventsEnqueued(1));
+
+        assertEquals(1.0, meterRegistry.get(Constants.OUTBOX_RELAY_REJECTED_METRIC).counter().count());
+        assertEquals(1.0, meterRegistry.get("executor.queued").tag("name", "outbox-relay").gauge().value());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("relayPendingEvents - Debería publicar lote a lote y borrar las filas confirmadas hasta vaciar el outbox")
+    void relayPendingEvents_shouldPublishAndDeleteBatchesUntilDrained() throws Exception {
+        when(accreditationOutboxRepository.lockNextBatch(any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(outboxRow(1L, 0), outboxRow(2L, 0)))
+                .thenReturn(List.of(outboxRow(3L, 0)));
+        when(accreditationEventPublisherService.publishConfirmed(anyList())).thenAnswer(invocation ->
+                invocation.<List<AccreditationPdfEvent>>getArgument(0).stream().map(event -> PdfEventPublishResult.ok()).toList());
+
+        int relayed = outboxService.relayPendingEvents();
+
+        assertEquals(3, relayed);
+        verify(accreditationEventPublisherService, times(2)).publishConfirmed(anyList());
+        verify(accreditationOutboxRepository).deleteByIds(List.of(1L, 2L));
+        verify(accreditationOutboxRepository).deleteByIds(List.of(3L));
+        verify(accreditationOutboxRepository, never()).recordFailure(anyLong(), anyString(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("relayPendingEvents - Debería borrar solo las filas confirmadas y reprogramar con espera las que fallaron")
+    void relayPendingEvents_whenOneEventFails_shouldDeleteConfirmedAndRescheduleFailed() throws Exception {
+        when(accreditationOutboxRepository.lockNextBatch(any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(outboxRow(1L, 0), outboxRow(2L, 1)));
+        when(accreditationEventPublisherService.publishConfirmed(anyList()))
+                .thenReturn(List.of(PdfEventPublishResult.ok(), PdfEventPublishResult.failed("Broker caído")));
+        LocalDateTime before = LocalDateTime.now();
+
+        int relayed = outboxService.relayPendingEvents();
+
+        assertEquals(1, relayed);
+        verify(accreditationOutboxRepository).deleteByIds(List.of(1L));
+        ArgumentCaptor<LocalDateTime> nextAttemptCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(accreditationOutboxRepository).recordFailure(eq(2L), eq("Broker caído"), nextAttemptCaptor.capture(), eq(false));
+        // Second attempt: the 1s backoff doubled
+        assertFalse(nextAttemptCaptor.getValue().isBefore(before.plusSeconds(2)));
+        verify(accreditationOutboxRepository, times(1)).lockNextBatch(any(LocalDateTime.class), eq(2));
+    }
+
+    @Test
+    @DisplayName("relayPendingEvents - Al agotar los intentos, debería aparcar la fila en lugar de reprogramarla")
+    void relayPendingEvents_whenAttemptsExhausted_shouldParkRow() throws Exception {
+        when(accreditationOutboxRepository.lockNextBatch(any(LocalDateTime.class), eq(2))).thenReturn(List.of(outboxRow(1L, 2)));
+        when(accreditationEventPublisherService.publishConfirmed(anyList()))
+                .thenReturn(List.of(PdfEventPublishResult.failed("Broker caído")));
+
+        outboxService.relayPendingEvents();
+
+        verify(accreditationOutboxRepository).recordFailure(1L, "Broker caído", null, true);
+        verify(accreditationOutboxRepository, never()).deleteByIds(anyList());
+        assertEquals(1.0, meterRegistry.get(Constants.OUTBOX_PARKED_METRIC).counter().count());
+    }
+
+    @Test
+    @DisplayName("relayPendingEvents - Una fila con payload ilegible debería aparcarse sin frenar al resto del lote")
+    void relayPendingEvents_withUnreadablePayload_shouldParkItAndPublishTheRest() throws Exception {
+        AccreditationOutboxEvent poison = outboxRow(1L, 0);
+        poison.setPayload("{not json");
+        when(accreditationOutboxRepository.lockNextBatch(any(LocalDateTime.class), eq(2))).thenReturn(List.of(poison, outboxRow(2L, 0)));
+        when(accreditationEventPublisherService.publishConfirmed(anyList())).thenReturn(List.of(PdfEventPublishResult.ok()));
+
+        int relayed = outboxService.relayPendingEvents();
+
+        assertEquals(1, relayed);
+        verify(accreditationEventPublisherService).publishConfirmed(argThat(events -> events.size() == 1));
+        verify(accreditationOutboxRepository).recordFailure(eq(1L), anyString(), isNull(), eq(true));
+        verify(accreditationOutboxRepository).deleteByIds(List.of(2L));
+    }
+
+    private AccreditationOutboxEvent outboxRow(Long id, int attempts) throws Exception {
+        return new AccreditationOutboxEvent(id, 7L, objectMapper.writeValueAsString(pdfEvent), LocalDateTime.now(), attempts, null, null, false);
+    }
+}
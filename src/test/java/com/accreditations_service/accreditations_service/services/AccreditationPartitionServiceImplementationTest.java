@@ -0,0 +1,76 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.services.implementations.AccreditationPartitionServiceImplementation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccreditationPartitionServiceImplementationTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AccreditationPartitionServiceImplementation partitionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(partitionService, "monthsAhead", 3);
+    }
+
+    @Test
+    @DisplayName("createPartitions - Debería crear una partición mensual por cada mes del rango")
+    void createPartitions_shouldCreateOnePartitionPerMonth() {
+        partitionService.createPartitions(YearMonth.of(2025, 11), YearMonth.of(2026, 1));
+
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).execute(sqlCaptor.capture());
+        List<String> statements = sqlCaptor.getAllValues();
+        assertThat(statements.get(0)).isEqualTo("CREATE TABLE IF NOT EXISTS accreditation_2025_11 PARTITION OF accreditation "
+                + "FOR VALUES FROM ('2025-11-01') TO ('2025-12-01')");
+        assertThat(statements.get(1)).contains("accreditation_2025_12").contains("TO ('2026-01-01')");
+        assertThat(statements.get(2)).contains("accreditation_2026_01").contains("TO ('2026-02-01')");
+    }
+
+    @Test
+    @DisplayName("createUpcomingPartitions - Debería crear el mes actual y los meses configurados por adelantado")
+    void createUpcomingPartitions_shouldCreateCurrentAndUpcomingMonths() {
+        YearMonth current = YearMonth.now();
+        DateTimeFormatter suffix = DateTimeFormatter.ofPattern("yyyy_MM");
+
+        partitionService.createUpcomingPartitions();
+
+        verify(jdbcTemplate, times(4)).execute(anyString());
+        verify(jdbcTemplate).execute(contains("accreditation_" + current.format(suffix) + " "));
+        verify(jdbcTemplate).execute(contains("accreditation_" + current.plusMonths(3).format(suffix) + " "));
+    }
+
+    @Test
+    @DisplayName("createPartitions - Si falla un mes, debería continuar con los siguientes")
+    void createPartitions_whenOneMonthFails_shouldContinue() {
+        doThrow(new DataIntegrityViolationException("updated partition constraint for default partition would be violated"))
+                .when(jdbcTemplate).execute(contains("accreditation_2025_11 "));
+
+        partitionService.createPartitions(YearMonth.of(2025, 11), YearMonth.of(2025, 12));
+
+        verify(jdbcTemplate).execute(contains("accreditation_2025_12 "));
+    }
+}
@@ -1,7 +1,13 @@
 package com.accreditations_service.accreditations_service.services;
 
+import com.accreditations_service.accreditations_service.config.ConcurrencyConfig;
+import com.accreditations_service.accreditations_service.config.ReceiptDateWindow;
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchItemResultDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationBatchResultDTO;
 import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.dtos.AccreditationPageDTO;
 import com.accreditations_service.accreditations_service.dtos.AccreditationPdfEvent;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationBatchRequest;
 import com.accreditations_service.accreditations_service.dtos.CreateAccreditationRequest;
 import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
 import com.accreditations_service.accreditations_service.exceptions.SalePointException;
@@ -10,6 +16,7 @@ import com.accreditations_service.accreditations_service.models.Accreditation;
 import com.accreditations_service.accreditations_service.repositories.AccreditationRepository;
 import com.accreditations_service.accreditations_service.services.implementations.AccreditationServiceImplementation;
 import com.accreditations_service.accreditations_service.utils.Constants;
+import com.accreditations_service.accreditations_service.utils.CursorUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,17 +25,28 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -36,6 +54,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AccreditationServiceImplementationTest {
 
+    private static final LocalDateTime FROM = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.now().plusMinutes(5);
+
     @Mock
     private AccreditationRepository accreditationRepository;
 
@@ -46,12 +67,28 @@ class AccreditationServiceImplementationTest {
     private UserClientService userClientService;
 
     @Mock
-    private AccreditationEventPublisherService accreditationEventPublisherService;
+    private AccreditationOutboxService accreditationOutboxService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache accreditationsCache;
+
+    @Mock
+    private SalePointAggregateService salePointAggregateService;
+
+    @Mock
+    private ReadYourWritesService readYourWritesService;
+
+    @Mock
+    private AccreditationVersionService accreditationVersionService;
 
     @InjectMocks
     private AccreditationServiceImplementation accreditationService;
 
     private Accreditation accreditation1;
+    private AccreditationDTO accreditationDTO1;
     private CreateAccreditationRequest createRequest;
     private String testEmail;
     private Long testUserId;
@@ -67,17 +104,30 @@ class AccreditationServiceImplementationTest {
         testSalePointName = "Test Sale Point";
 
         accreditation1 = new Accreditation(
-                1L, testSalePointId, testUserId, 150.75, testSalePointName,
+                1L, testSalePointId, testUserId, 15075L, testSalePointName,
                 LocalDateTime.now().minusDays(1), LocalDateTime.now().minusHours(2), null, null
         );
+        accreditationDTO1 = new AccreditationDTO(
+                accreditation1.getId(), testSalePointId, testUserId, testSalePointName,
+                accreditation1.getAmountCents(), accreditation1.getReceiptDate()
+        );
         createRequest = new CreateAccreditationRequest(testSalePointId, 150.75, LocalDateTime.now().minusDays(1));
+
+        ReflectionTestUtils.setField(accreditationService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(accreditationService, "maxPageSize", 100);
+        ReflectionTestUtils.setField(accreditationService, "maxBatchSize", 500);
+        ReflectionTestUtils.setField(accreditationService, "accreditationLookupExecutor", new ConcurrencyConfig().accreditationLookupExecutor());
+        ReceiptDateWindow receiptDateWindow = spy(new ReceiptDateWindow(false, Duration.ofDays(730), Duration.ofDays(30), Duration.ofMinutes(5)));
+        lenient().doReturn(FROM).when(receiptDateWindow).from();
+        lenient().doReturn(TO).when(receiptDateWindow).to();
+        ReflectionTestUtils.setField(accreditationService, "receiptDateWindow", receiptDateWindow);
     }
 
     @Test
     @DisplayName("saveAccreditation - Debería guardar y devolver la acreditación")
     void saveAccreditation_shouldSaveAndReturnAccreditation() {
         Accreditation inputAccreditation = new Accreditation();
-        inputAccreditation.setAmount(100.0);
+        inputAccreditation.setAmountCents(10000L);
         when(accreditationRepository.save(any(Accreditation.class))).thenReturn(accreditation1);
 
         Accreditation result = accreditationService.saveAccreditation(inputAccreditation);
@@ -88,26 +138,113 @@ class AccreditationServiceImplementationTest {
     }
 
     @Test
-    @DisplayName("getAllAccreditations - Debería devolver un Set de AccreditationDTOs")
-    void getAllAccreditations_shouldReturnSetOfAccreditationDTOs() {
-        Accreditation accreditation2 = new Accreditation(
-                2L, 101L, 2L, 200.0, "Punto B",
-                LocalDateTime.now(), LocalDateTime.now(), null, null
-        );
-        when(accreditationRepository.findAll()).thenReturn(List.of(accreditation1, accreditation2));
+    @DisplayName("getAllAccreditations - Sin cursor, debería devolver la primera página ordenada por ID descendente")
+    void getAllAccreditations_withoutCursor_shouldReturnFirstPage() {
+        AccreditationDTO accreditationDTO2 = new AccreditationDTO(2L, 101L, 2L, "Punto B", 20000L, LocalDateTime.now());
+        when(accreditationRepository.findDTOPage(FROM, Limit.of(21))).thenReturn(List.of(accreditationDTO2, accreditationDTO1));
 
-        ResponseEntity<Set<AccreditationDTO>> response = accreditationService.getAllAccreditations();
+        ResponseEntity<AccreditationPageDTO> response = accreditationService.getAllAccreditations(null, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(2, response.getBody().size());
-        assertThat(response.getBody()).extracting(AccreditationDTO::id).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(response.getBody().items()).extracting(AccreditationDTO::id).containsExactly(2L, 1L);
+        assertNull(response.getBody().nextCursor());
+        verify(accreditationRepository, never()).findDTOPageBefore(anyLong(), any(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("getAllAccreditations - Cuando hay más filas que el tamaño de página, debería devolver nextCursor")
+    void getAllAccreditations_whenMoreRowsThanPageSize_shouldReturnNextCursor() {
+        AccreditationDTO accreditationDTO3 = new AccreditationDTO(3L, 101L, 2L, "Punto C", 30000L, LocalDateTime.now());
+        AccreditationDTO accreditationDTO2 = new AccreditationDTO(2L, 101L, 2L, "Punto B", 20000L, LocalDateTime.now());
+        when(accreditationRepository.findDTOPageBefore(4L, FROM, Limit.of(3)))
+                .thenReturn(List.of(accreditationDTO3, accreditationDTO2, accreditationDTO1));
+
+        ResponseEntity<AccreditationPageDTO> response = accreditationService.getAllAccreditations(CursorUtils.encode(4L), 2, null);
+
+        assertNotNull(response.getBody());
+        assertThat(response.getBody().items()).extracting(AccreditationDTO::id).containsExactly(3L, 2L);
+        assertEquals(2L, CursorUtils.decode(response.getBody().nextCursor()));
+    }
+
+    @Test
+    @DisplayName("getAllAccreditations - Debería limitar el tamaño de página al máximo configurado")
+    void getAllAccreditations_whenSizeExceedsMax_shouldCapPageSize() {
+        when(accreditationRepository.findDTOPage(FROM, Limit.of(101))).thenReturn(List.of(accreditationDTO1));
+
+        ResponseEntity<AccreditationPageDTO> response = accreditationService.getAllAccreditations(null, 5000, null);
+
+        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().size());
+        verify(accreditationRepository, times(1)).findDTOPage(FROM, Limit.of(101));
+    }
+
+    @Test
+    @DisplayName("getAllAccreditations - Con cursor inválido, debería lanzar AccreditationException (BAD_REQUEST)")
+    void getAllAccreditations_withInvalidCursor_shouldThrowAccreditationException() {
+        AccreditationException exception = assertThrows(AccreditationException.class, () -> {
+            accreditationService.getAllAccreditations("not-a-cursor", null, null);
+        });
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verifyNoInteractions(accreditationRepository);
+    }
+
+    @Test
+    @DisplayName("getAllAccreditations - Con If-None-Match vigente, debería devolver 304 sin leer la página")
+    void getAllAccreditations_withMatchingIfNoneMatch_shouldReturnNotModifiedWithoutLoadingPage() {
+        when(accreditationVersionService.getVersion()).thenReturn(9L);
+        String eTag = accreditationService.getAccreditationsETag(null, null);
+
+        ResponseEntity<AccreditationPageDTO> response = accreditationService.getAllAccreditations(null, null, eTag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(eTag, response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(accreditationRepository, never()).findDTOPage(any(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("getAccreditationsETag - Debería cambiar cuando cambia la versión de las acreditaciones")
+    void getAccreditationsETag_shouldChangeWhenVersionChanges() {
+        when(accreditationVersionService.getVersion()).thenReturn(5L, 5L, 6L);
+
+        String first = accreditationService.getAccreditationsETag(null, 20);
+        String same = accreditationService.getAccreditationsETag(null, 20);
+        String afterChange = accreditationService.getAccreditationsETag(null, 20);
+
+        assertEquals(first, same);
+        assertNotEquals(first, afterChange);
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+        verifyNoInteractions(accreditationRepository);
+    }
+
+    @Test
+    @DisplayName("getAccreditationETag - Debería lanzar NOT_FOUND si la acreditación ya no existe")
+    void getAccreditationETag_whenMissing_shouldThrowNotFound() {
+        when(accreditationRepository.existsLiveById(99L)).thenReturn(false);
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> accreditationService.getAccreditationETag(99L));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+    }
+
+    @Test
+    @DisplayName("getAccreditationsByUserETag - Debería depender del usuario y de su versión")
+    void getAccreditationsByUserETag_shouldDependOnUserVersion() {
+        when(accreditationVersionService.getUserVersion(testUserId)).thenReturn(3L, 4L);
+
+        String before = accreditationService.getAccreditationsByUserETag(testUserId, null, null);
+        String afterChange = accreditationService.getAccreditationsByUserETag(testUserId, null, null);
+
+        assertNotEquals(before, afterChange);
     }
 
     @Test
     @DisplayName("getAccreditationById - Cuando existe, debería devolver AccreditationDTO")
     void getAccreditationById_whenExists_shouldReturnAccreditationDTO() throws AccreditationException {
-        when(accreditationRepository.findById(1L)).thenReturn(Optional.of(accreditation1));
+        when(accreditationRepository.findDTOById(1L)).thenReturn(Optional.of(accreditationDTO1));
 
         ResponseEntity<AccreditationDTO> response = accreditationService.getAccreditationById(1L);
 
@@ -115,12 +252,13 @@ class AccreditationServiceImplementationTest {
         assertNotNull(response.getBody());
         assertEquals(accreditation1.getId(), response.getBody().id());
         assertEquals(accreditation1.getSalePointName(), response.getBody().salePointName());
+        verify(accreditationRepository, never()).findById(anyLong());
     }
 
     @Test
     @DisplayName("getAccreditationById - Cuando no existe, debería lanzar AccreditationException")
     void getAccreditationById_whenNotExists_shouldThrowAccreditationException() {
-        when(accreditationRepository.findById(99L)).thenReturn(Optional.empty());
+        when(accreditationRepository.findDTOById(99L)).thenReturn(Optional.empty());
 
         AccreditationException exception = assertThrows(AccreditationException.class, () -> {
             accreditationService.getAccreditationById(99L);
@@ -132,32 +270,36 @@ class AccreditationServiceImplementationTest {
     @Test
     @DisplayName("getAccreditationByIdUser - Cuando existe y es propietario, debería devolver AccreditationDTO")
     void getAccreditationByIdUser_whenExistsAndIsOwner_shouldReturnAccreditationDTO() throws AccreditationException {
-        when(accreditationRepository.findById(accreditation1.getId())).thenReturn(Optional.of(accreditation1));
+        when(accreditationRepository.findDTOByIdAndUserId(accreditation1.getId(), testUserId)).thenReturn(Optional.of(accreditationDTO1));
 
         ResponseEntity<AccreditationDTO> response = accreditationService.getAccreditationByIdUser(testUserId, accreditation1.getId());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(accreditation1.getId(), response.getBody().id());
+        verify(accreditationRepository, never()).existsLiveById(anyLong());
     }
 
     @Test
     @DisplayName("getAccreditationByIdUser - Cuando existe pero no es propietario, debería lanzar AccreditationException (UNAUTHORIZED)")
     void getAccreditationByIdUser_whenExistsAndNotOwner_shouldThrowAccreditationException() {
         Long otherUserId = 999L;
-        when(accreditationRepository.findById(accreditation1.getId())).thenReturn(Optional.of(accreditation1));
+        when(accreditationRepository.findDTOByIdAndUserId(accreditation1.getId(), otherUserId)).thenReturn(Optional.empty());
+        when(accreditationRepository.existsLiveById(accreditation1.getId())).thenReturn(true);
 
         AccreditationException exception = assertThrows(AccreditationException.class, () -> {
             accreditationService.getAccreditationByIdUser(otherUserId, accreditation1.getId());
         });
         assertEquals(Constants.NOT_PERM, exception.getMessage());
         assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatus());
+        assertEquals(0, exception.getStackTrace().length);
     }
 
     @Test
     @DisplayName("getAccreditationByIdUser - Cuando no existe la acreditación, debería lanzar AccreditationException (NOT_FOUND)")
     void getAccreditationByIdUser_whenAccreditationNotExists_shouldThrowAccreditationException() {
-        when(accreditationRepository.findById(99L)).thenReturn(Optional.empty());
+        when(accreditationRepository.findDTOByIdAndUserId(99L, testUserId)).thenReturn(Optional.empty());
+        when(accreditationRepository.existsLiveById(99L)).thenReturn(false);
 
         AccreditationException exception = assertThrows(AccreditationException.class, () -> {
             accreditationService.getAccreditationByIdUser(testUserId, 99L);
@@ -166,6 +308,60 @@ class AccreditationServiceImplementationTest {
         assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
     }
 
+    @Test
+    @DisplayName("getAccreditationByIdUser - Cuando está en caché y es propietario, no debería consultar la base de datos")
+    void getAccreditationByIdUser_whenCachedAndOwner_shouldNotQueryDatabase() {
+        when(cacheManager.getCache(Constants.ACCREDITATIONS_CACHE)).thenReturn(accreditationsCache);
+        when(accreditationsCache.get(accreditation1.getId(), AccreditationDTO.class)).thenReturn(accreditationDTO1);
+
+        ResponseEntity<AccreditationDTO> response = accreditationService.getAccreditationByIdUser(testUserId, accreditation1.getId());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(accreditationDTO1, response.getBody());
+        verifyNoInteractions(accreditationRepository);
+    }
+
+    @Test
+    @DisplayName("getAccreditationByIdUser - Cuando está en caché y no es propietario, debería lanzar AccreditationException (UNAUTHORIZED)")
+    void getAccreditationByIdUser_whenCachedAndNotOwner_shouldThrowAccreditationException() {
+        when(cacheManager.getCache(Constants.ACCREDITATIONS_CACHE)).thenReturn(accreditationsCache);
+        when(accreditationsCache.get(accreditation1.getId(), AccreditationDTO.class)).thenReturn(accreditationDTO1);
+
+        AccreditationException exception = assertThrows(AccreditationException.class, () -> {
+            accreditationService.getAccreditationByIdUser(999L, accreditation1.getId());
+        });
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getHttpStatus());
+        verifyNoInteractions(accreditationRepository);
+    }
+
+    @Test
+    @DisplayName("getAccreditationsByUser - Debería consultar solo las acreditaciones del usuario")
+    void getAccreditationsByUser_shouldQueryOnlyUserAccreditations() {
+        when(accreditationRepository.findDTOPageByUserId(testUserId, FROM, Limit.of(21))).thenReturn(List.of(accreditationDTO1));
+
+        ResponseEntity<AccreditationPageDTO> response = accreditationService.getAccreditationsByUser(testUserId, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertThat(response.getBody().items()).extracting(AccreditationDTO::userId).containsOnly(testUserId);
+        assertNull(response.getBody().nextCursor());
+    }
+
+    @Test
+    @DisplayName("getAccreditationsByUser - Con cursor, debería continuar desde el último ID devuelto")
+    void getAccreditationsByUser_withCursor_shouldContinueAfterLastId() {
+        AccreditationDTO older = new AccreditationDTO(0L, testSalePointId, testUserId, testSalePointName, 1000L, LocalDateTime.now());
+        when(accreditationRepository.findDTOPageByUserIdBefore(testUserId, 7L, FROM, Limit.of(2)))
+                .thenReturn(List.of(accreditationDTO1, older));
+
+        ResponseEntity<AccreditationPageDTO> response = accreditationService.getAccreditationsByUser(testUserId, CursorUtils.encode(7L), 1, null);
+
+        assertNotNull(response.getBody());
+        assertThat(response.getBody().items()).extracting(AccreditationDTO::id).containsExactly(accreditation1.getId());
+        assertEquals(accreditation1.getId(), CursorUtils.decode(response.getBody().nextCursor()));
+        verify(accreditationRepository, never()).findDTOPageByUserId(anyLong(), any(), any(Limit.class));
+    }
+
     @Test
     @DisplayName("validateAccreditationOwner - Cuando IDs coinciden, no debería lanzar excepción")
     void validateAccreditationOwner_whenIdsMatch_shouldNotThrowException() {
@@ -195,13 +391,12 @@ class AccreditationServiceImplementationTest {
         savedAccreditation.setId(5L);
         savedAccreditation.setSalePointId(createRequest.salePointId());
         savedAccreditation.setUserId(testUserId);
-        savedAccreditation.setAmount(createRequest.amount());
+        savedAccreditation.setAmountCents(15075L);
         savedAccreditation.setSalePointName(testSalePointName);
         savedAccreditation.setReceiptDate(createRequest.receiptDate());
         savedAccreditation.setCreatedAt(LocalDateTime.now());
 
         when(accreditationRepository.save(any(Accreditation.class))).thenReturn(savedAccreditation);
-        doNothing().when(accreditationEventPublisherService).publishAccreditationEvent(any(AccreditationPdfEvent.class), anyLong());
 
         ResponseEntity<AccreditationDTO> response = accreditationService.createAccreditation(testEmail, createRequest);
 
@@ -216,13 +411,70 @@ class AccreditationServiceImplementationTest {
 
         ArgumentCaptor<Accreditation> accreditationCaptor = ArgumentCaptor.forClass(Accreditation.class);
         verify(accreditationRepository, times(1)).save(accreditationCaptor.capture());
-        assertEquals(createRequest.amount(), accreditationCaptor.getValue().getAmount());
+        assertEquals(15075L, accreditationCaptor.getValue().getAmountCents());
         assertEquals(testUserId, accreditationCaptor.getValue().getUserId());
 
-        ArgumentCaptor<AccreditationPdfEvent> eventCaptor = ArgumentCaptor.forClass(AccreditationPdfEvent.class);
-        verify(accreditationEventPublisherService, times(1)).publishAccreditationEvent(eventCaptor.capture(), eq(savedAccreditation.getId()));
-        assertEquals(testEmail, eventCaptor.getValue().getTo());
-        assertEquals(savedAccreditation.getId(), eventCaptor.getValue().getAccreditationData().getAccreditationId());
+        ArgumentCaptor<List<AccreditationPdfEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(accreditationOutboxService, times(1)).enqueue(eventsCaptor.capture());
+        AccreditationPdfEvent pdfEvent = eventsCaptor.getValue().get(0);
+        assertEquals(testEmail, pdfEvent.getTo());
+        assertEquals(savedAccreditation.getId(), pdfEvent.getAccreditationData().getAccreditationId());
+        assertEquals(150.75, pdfEvent.getAccreditationData().getAmount());
+        verify(salePointAggregateService, times(1)).recordAccreditation(createRequest.salePointId(), 15075L);
+        verify(readYourWritesService, times(1)).recordWrite(testUserId);
+        verify(accreditationVersionService, times(1)).recordChange(List.of(testUserId));
+    }
+
+    @Test
+    @DisplayName("createAccreditation - Debería dejar la acreditación creada en la caché")
+    void createAccreditation_shouldPopulateCache() throws SalePointException, UserException {
+        when(salePointClientService.getSalePointName(createRequest.salePointId())).thenReturn(testSalePointName);
+        when(userClientService.getUserIdFromEmail(testEmail)).thenReturn(testUserId);
+        when(accreditationRepository.save(any(Accreditation.class))).thenReturn(accreditation1);
+        when(cacheManager.getCache(Constants.ACCREDITATIONS_CACHE)).thenReturn(accreditationsCache);
+
+        ResponseEntity<AccreditationDTO> response = accreditationService.createAccreditation(testEmail, createRequest);
+
+        verify(accreditationsCache, times(1)).put(accreditation1.getId(), response.getBody());
+    }
+
+    @Test
+    @DisplayName("createAccreditation - Sin importe, debería lanzar AccreditationException BAD_REQUEST")
+    void createAccreditation_withoutAmount_shouldThrowBadRequest() {
+        CreateAccreditationRequest withoutAmount = new CreateAccreditationRequest(testSalePointId, null, LocalDateTime.now());
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> accreditationService.createAccreditation(testEmail, withoutAmount));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertEquals(Constants.AMOUNT_REQUIRED, exception.getMessage());
+        verifyNoInteractions(salePointClientService, accreditationRepository);
+    }
+
+    @Test
+    @DisplayName("createAccreditation - Con un importe fuera de rango, debería lanzar AccreditationException BAD_REQUEST y no un 500")
+    void createAccreditation_withOutOfRangeAmount_shouldThrowBadRequest() {
+        CreateAccreditationRequest hugeAmount = new CreateAccreditationRequest(testSalePointId, 1e17, LocalDateTime.now());
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> accreditationService.createAccreditation(testEmail, hugeAmount));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertTrue(exception.getMessage().startsWith(Constants.INVALID_AMOUNT));
+        verifyNoInteractions(salePointClientService, accreditationRepository);
+    }
+
+    @Test
+    @DisplayName("createAccreditation - Con fecha de recibo futura, debería lanzar AccreditationException BAD_REQUEST")
+    void createAccreditation_withFutureReceiptDate_shouldThrowBadRequest() {
+        CreateAccreditationRequest futureReceipt = new CreateAccreditationRequest(testSalePointId, 10.0, TO.plusMonths(6));
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> accreditationService.createAccreditation(testEmail, futureReceipt));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertTrue(exception.getMessage().startsWith(Constants.INVALID_RECEIPT_DATE));
+        verifyNoInteractions(salePointClientService, accreditationRepository);
     }
 
     @Test
@@ -235,15 +487,15 @@ class AccreditationServiceImplementationTest {
             accreditationService.createAccreditation(testEmail, createRequest);
         });
         assertEquals(salePointEx, thrown);
-        verify(userClientService, never()).getUserIdFromEmail(anyString());
         verify(accreditationRepository, never()).save(any(Accreditation.class));
-        verify(accreditationEventPublisherService, never()).publishAccreditationEvent(any(), anyLong());
+        verify(accreditationOutboxService, never()).enqueue(anyList());
+        verify(salePointAggregateService, never()).recordAccreditation(anyLong(), anyLong());
     }
 
     @Test
     @DisplayName("createAccreditation - Cuando UserClientService falla, debería lanzar UserException")
     void createAccreditation_whenUserClientFails_shouldThrowUserException() throws SalePointException, UserException {
-        when(salePointClientService.getSalePointName(createRequest.salePointId())).thenReturn(testSalePointName);
+        lenient().when(salePointClientService.getSalePointName(createRequest.salePointId())).thenReturn(testSalePointName);
         UserException userEx = new UserException("Error User", HttpStatus.SERVICE_UNAVAILABLE);
         when(userClientService.getUserIdFromEmail(testEmail)).thenThrow(userEx);
 
@@ -252,34 +504,244 @@ class AccreditationServiceImplementationTest {
         });
         assertEquals(userEx, thrown);
         verify(accreditationRepository, never()).save(any(Accreditation.class));
-        verify(accreditationEventPublisherService, never()).publishAccreditationEvent(any(), anyLong());
+        verify(accreditationOutboxService, never()).enqueue(anyList());
     }
 
     @Test
-    @DisplayName("createAccreditation - Cuando EventPublisher falla, la acreditación se crea y se loguea el error")
-    void createAccreditation_whenEventPublisherFails_shouldStillCreateAccreditation() throws SalePointException, UserException {
+    @DisplayName("createAccreditation - Las búsquedas de punto de venta y usuario deberían ejecutarse en paralelo")
+    void createAccreditation_shouldRunLookupsConcurrently() {
+        when(salePointClientService.getSalePointName(createRequest.salePointId())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return testSalePointName;
+        });
+        when(userClientService.getUserIdFromEmail(testEmail)).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return testUserId;
+        });
+        when(accreditationRepository.save(any(Accreditation.class))).thenReturn(accreditation1);
+
+        long start = System.nanoTime();
+        accreditationService.createAccreditation(testEmail, createRequest);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(300).isLessThan(550);
+    }
+
+    @Test
+    @DisplayName("createAccreditation - Las búsquedas deberían ver el SecurityContext de la petición")
+    void createAccreditation_shouldPropagateSecurityContextToLookups() {
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken(testEmail, "token");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        AtomicReference<Authentication> salePointAuthentication = new AtomicReference<>();
+        AtomicReference<Authentication> userAuthentication = new AtomicReference<>();
+        when(salePointClientService.getSalePointName(createRequest.salePointId())).thenAnswer(invocation -> {
+            salePointAuthentication.set(SecurityContextHolder.getContext().getAuthentication());
+            return testSalePointName;
+        });
+        when(userClientService.getUserIdFromEmail(testEmail)).thenAnswer(invocation -> {
+            userAuthentication.set(SecurityContextHolder.getContext().getAuthentication());
+            return testUserId;
+        });
+        when(accreditationRepository.save(any(Accreditation.class))).thenReturn(accreditation1);
+
+        try {
+            accreditationService.createAccreditation(testEmail, createRequest);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        assertSame(authentication, salePointAuthentication.get());
+        assertSame(authentication, userAuthentication.get());
+    }
+
+    @Test
+    @DisplayName("createAccreditation - El primer fallo debería cancelar la otra búsqueda sin esperarla")
+    void createAccreditation_whenOneLookupFails_shouldCancelTheOther() throws InterruptedException {
+        CountDownLatch userLookupInterrupted = new CountDownLatch(1);
+        SalePointException salePointEx = new SalePointException(Constants.SALE_POINT_NOT_FOUND + testSalePointId, HttpStatus.NOT_FOUND);
+        when(salePointClientService.getSalePointName(createRequest.salePointId())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            throw salePointEx;
+        });
+        when(userClientService.getUserIdFromEmail(testEmail)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                userLookupInterrupted.countDown();
+                throw e;
+            }
+            return testUserId;
+        });
+
+        long start = System.nanoTime();
+        SalePointException thrown = assertThrows(SalePointException.class,
+                () -> accreditationService.createAccreditation(testEmail, createRequest));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertSame(salePointEx, thrown);
+        assertThat(elapsedMillis).isLessThan(1_000);
+        assertTrue(userLookupInterrupted.await(1, TimeUnit.SECONDS));
+        verify(accreditationRepository, never()).save(any(Accreditation.class));
+    }
+
+    @Test
+    @DisplayName("createAccreditation - Si no se puede guardar el evento en el outbox, la excepción debería propagarse para deshacer el alta")
+    void createAccreditation_whenOutboxFails_shouldPropagateSoCreationRollsBack() throws SalePointException, UserException {
         when(salePointClientService.getSalePointName(createRequest.salePointId())).thenReturn(testSalePointName);
         when(userClientService.getUserIdFromEmail(testEmail)).thenReturn(testUserId);
+        when(accreditationRepository.save(any(Accreditation.class))).thenReturn(accreditation1);
+        RuntimeException outboxError = new RuntimeException("Error simulado al guardar el evento");
+        doThrow(outboxError).when(accreditationOutboxService).enqueue(anyList());
 
-        Accreditation savedAccreditation = new Accreditation();
-        savedAccreditation.setId(5L);
-        savedAccreditation.setSalePointId(createRequest.salePointId());
-        savedAccreditation.setUserId(testUserId);
-        savedAccreditation.setAmount(createRequest.amount());
-        savedAccreditation.setSalePointName(testSalePointName);
-        savedAccreditation.setReceiptDate(createRequest.receiptDate());
-        savedAccreditation.setCreatedAt(LocalDateTime.now());
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> accreditationService.createAccreditation(testEmail, createRequest));
 
-        when(accreditationRepository.save(any(Accreditation.class))).thenReturn(savedAccreditation);
-        doThrow(new RuntimeException("Error simulado al publicar evento"))
-                .when(accreditationEventPublisherService).publishAccreditationEvent(any(AccreditationPdfEvent.class), anyLong());
+        assertSame(outboxError, thrown);
+        verify(accreditationsCache, never()).put(any(), any());
+    }
 
-        ResponseEntity<AccreditationDTO> response = accreditationService.createAccreditation(testEmail, createRequest);
+    @Test
+    @DisplayName("createAccreditations - Debería resolver cada punto de venta una sola vez y guardar el lote con saveAll")
+    void createAccreditations_shouldResolveDistinctSalePointsOnceAndSaveAll() {
+        CreateAccreditationBatchRequest batchRequest = new CreateAccreditationBatchRequest(List.of(
+                new CreateAccreditationRequest(testSalePointId, 10.0, null),
+                new CreateAccreditationRequest(testSalePointId, 20.5, null),
+                new CreateAccreditationRequest(200L, 30.0, null)));
+        when(userClientService.getUserIdFromEmail(testEmail)).thenReturn(testUserId);
+        when(salePointClientService.getSalePointName(testSalePointId)).thenReturn(testSalePointName);
+        when(salePointClientService.getSalePointName(200L)).thenReturn("Otro Punto");
+        when(accreditationRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        ResponseEntity<AccreditationBatchResultDTO> response = accreditationService.createAccreditations(testEmail, batchRequest);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertEquals(savedAccreditation.getId(), response.getBody().id());
+        assertEquals(3, response.getBody().created());
+        assertEquals(0, response.getBody().failed());
+        assertEquals(2050L, response.getBody().results().get(1).accreditation().amountCents());
+        assertEquals("Otro Punto", response.getBody().results().get(2).accreditation().salePointName());
+        verify(userClientService, times(1)).getUserIdFromEmail(testEmail);
+        verify(salePointClientService, times(1)).getSalePointName(testSalePointId);
+        verify(salePointClientService, times(1)).getSalePointName(200L);
+        verify(accreditationRepository, times(1)).saveAll(anyList());
+        verify(accreditationRepository, never()).save(any(Accreditation.class));
+        verify(salePointAggregateService, times(2)).recordAccreditation(eq(testSalePointId), anyLong());
+        verify(readYourWritesService, times(1)).recordWrite(testUserId);
+
+        ArgumentCaptor<List<AccreditationPdfEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(accreditationOutboxService, times(1)).enqueue(eventsCaptor.capture());
+        assertEquals(3, eventsCaptor.getValue().size());
+    }
+
+    @Test
+    @DisplayName("createAccreditations - Los elementos inválidos o de puntos de venta fallidos deberían fallar por separado")
+    void createAccreditations_withInvalidItems_shouldReportPerItemFailures() {
+        CreateAccreditationBatchRequest batchRequest = new CreateAccreditationBatchRequest(List.of(
+                new CreateAccreditationRequest(testSalePointId, null, null),
+                new CreateAccreditationRequest(999L, 10.0, null),
+                new CreateAccreditationRequest(testSalePointId, 15.0, null),
+                new CreateAccreditationRequest(999L, 25.0, null)));
+        when(userClientService.getUserIdFromEmail(testEmail)).thenReturn(testUserId);
+        when(salePointClientService.getSalePointName(testSalePointId)).thenReturn(testSalePointName);
+        when(salePointClientService.getSalePointName(999L))
+                .thenThrow(new SalePointException(Constants.SALE_POINT_NOT_FOUND + 999, HttpStatus.NOT_FOUND));
+        when(accreditationRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        ResponseEntity<AccreditationBatchResultDTO> response = accreditationService.createAccreditations(testEmail, batchRequest);
+
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        assertEquals(1, response.getBody().created());
+        assertEquals(3, response.getBody().failed());
+        List<AccreditationBatchItemResultDTO> results = response.getBody().results();
+        assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(0).status());
+        assertEquals(Constants.INVALID_BATCH_ITEM, results.get(0).error());
+        assertEquals(HttpStatus.NOT_FOUND.value(), results.get(1).status());
+        assertEquals(HttpStatus.CREATED.value(), results.get(2).status());
+        assertEquals(2, results.get(2).index());
+        assertEquals(HttpStatus.NOT_FOUND.value(), results.get(3).status());
+        verify(salePointClientService, times(1)).getSalePointName(999L);
+
+        ArgumentCaptor<List<Accreditation>> savedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(accreditationRepository).saveAll(savedCaptor.capture());
+        assertEquals(1, savedCaptor.getValue().size());
+        assertEquals(1500L, savedCaptor.getValue().get(0).getAmountCents());
+    }
+
+    @Test
+    @DisplayName("createAccreditations - Un elemento con fecha de recibo fuera de rango debería fallar por separado")
+    void createAccreditations_withReceiptDateOutOfRange_shouldFailThatItem() {
+        CreateAccreditationBatchRequest batchRequest = new CreateAccreditationBatchRequest(List.of(
+                new CreateAccreditationRequest(testSalePointId, 10.0, TO.plusYears(1)),
+                new CreateAccreditationRequest(testSalePointId, 15.0, FROM.minusDays(1)),
+                new CreateAccreditationRequest(testSalePointId, 20.0, null)));
+        when(userClientService.getUserIdFromEmail(testEmail)).thenReturn(testUserId);
+        when(salePointClientService.getSalePointName(testSalePointId)).thenReturn(testSalePointName);
+        when(accreditationRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        ResponseEntity<AccreditationBatchResultDTO> response = accreditationService.createAccreditations(testEmail, batchRequest);
+
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        List<AccreditationBatchItemResultDTO> results = response.getBody().results();
+        assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(0).status());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(1).status());
+        assertEquals(HttpStatus.CREATED.value(), results.get(2).status());
+    }
+
+    @Test
+    @DisplayName("createAccreditations - Un elemento con importe fuera de rango debería fallar por separado")
+    void createAccreditations_withOutOfRangeAmount_shouldFailThatItem() {
+        CreateAccreditationBatchRequest batchRequest = new CreateAccreditationBatchRequest(List.of(
+                new CreateAccreditationRequest(testSalePointId, 1e17, null),
+                new CreateAccreditationRequest(testSalePointId, 20.0, null)));
+        when(userClientService.getUserIdFromEmail(testEmail)).thenReturn(testUserId);
+        when(salePointClientService.getSalePointName(testSalePointId)).thenReturn(testSalePointName);
+        when(accreditationRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        ResponseEntity<AccreditationBatchResultDTO> response = accreditationService.createAccreditations(testEmail, batchRequest);
+
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        List<AccreditationBatchItemResultDTO> results = response.getBody().results();
+        assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(0).status());
+        assertTrue(results.get(0).error().startsWith(Constants.INVALID_AMOUNT));
+        assertEquals(HttpStatus.CREATED.value(), results.get(1).status());
+    }
+
+    @Test
+    @DisplayName("createAccreditations - Si ningún elemento es válido, no debería publicar eventos")
+    void createAccreditations_whenNothingCreated_shouldNotPublish() {
+        CreateAccreditationBatchRequest batchRequest = new CreateAccreditationBatchRequest(List.of(
+                new CreateAccreditationRequest(null, 10.0, null)));
+        when(userClientService.getUserIdFromEmail(testEmail)).thenReturn(testUserId);
+        when(accreditationRepository.saveAll(anyList())).thenReturn(List.of());
+
+        ResponseEntity<AccreditationBatchResultDTO> response = accreditationService.createAccreditations(testEmail, batchRequest);
+
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        assertEquals(0, response.getBody().created());
+        verifyNoInteractions(salePointClientService, accreditationOutboxService, readYourWritesService);
+    }
+
+    @Test
+    @DisplayName("createAccreditations - Con un lote vacío o mayor al máximo, debería lanzar AccreditationException BAD_REQUEST")
+    void createAccreditations_withInvalidBatchSize_shouldThrowBadRequest() {
+        ReflectionTestUtils.setField(accreditationService, "maxBatchSize", 1);
+        CreateAccreditationBatchRequest emptyBatch = new CreateAccreditationBatchRequest(List.of());
+        CreateAccreditationBatchRequest oversizedBatch = new CreateAccreditationBatchRequest(List.of(createRequest, createRequest));
+
+        AccreditationException emptyException = assertThrows(AccreditationException.class,
+                () -> accreditationService.createAccreditations(testEmail, emptyBatch));
+        AccreditationException oversizedException = assertThrows(AccreditationException.class,
+                () -> accreditationService.createAccreditations(testEmail, oversizedBatch));
+
+        assertEquals(HttpStatus.BAD_REQUEST, emptyException.getHttpStatus());
+        assertEquals(Constants.INVALID_BATCH_SIZE + 2, oversizedException.getMessage());
+        verifyNoInteractions(userClientService, salePointClientService, accreditationRepository);
+    }
 
-        verify(accreditationEventPublisherService, times(1)).publishAccreditationEvent(any(AccreditationPdfEvent.class), eq(savedAccreditation.getId()));
+    private List<Accreditation> assignIds(List<Accreditation> accreditations) {
+        long id = 10L;
+        for (Accreditation accreditation : accreditations) {
+            accreditation.setId(id++);
+        }
+        return accreditations;
     }
-}
\ No newline at end of file
+}
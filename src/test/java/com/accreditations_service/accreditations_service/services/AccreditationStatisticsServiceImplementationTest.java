@@ -0,0 +1,94 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.dtos.PeriodSummaryDTO;
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
+import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
+import com.accreditations_service.accreditations_service.repositories.AccreditationRepository;
+import com.accreditations_service.accreditations_service.services.implementations.AccreditationStatisticsServiceImplementation;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccreditationStatisticsServiceImplementationTest {
+
+    @Mock
+    private AccreditationRepository accreditationRepository;
+
+    @InjectMocks
+    private AccreditationStatisticsServiceImplementation statisticsService;
+
+    private final LocalDate from = LocalDate.of(2025, 1, 1);
+    private final LocalDate to = LocalDate.of(2025, 1, 31);
+
+    @Test
+    @DisplayName("getSalePointSummaries - Debería consultar el rango [from, to + 1 día)")
+    void getSalePointSummaries_shouldQueryHalfOpenRange() {
+        List<SalePointSummaryDTO> summaries = List.of(new SalePointSummaryDTO(100L, 2L, 30000L, 10000L, 20000L));
+        when(accreditationRepository.summarizeBySalePoint(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0)))
+                .thenReturn(summaries);
+
+        ResponseEntity<List<SalePointSummaryDTO>> response = statisticsService.getSalePointSummaries(from, to);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summaries, response.getBody());
+    }
+
+    @Test
+    @DisplayName("getPeriodSummaries - Con granularidad 'month', debería usar la agregación mensual")
+    void getPeriodSummaries_withMonth_shouldUseMonthlyQuery() {
+        List<PeriodSummaryDTO> summaries = List.of(new PeriodSummaryDTO(2025, 1, 3L, 45000L, 10000L, 20000L));
+        when(accreditationRepository.summarizeByMonth(any(), any())).thenReturn(summaries);
+
+        ResponseEntity<List<PeriodSummaryDTO>> response = statisticsService.getPeriodSummaries(from, to, "MONTH");
+
+        assertEquals(summaries, response.getBody());
+        verify(accreditationRepository, never()).summarizeByDay(any(), any());
+    }
+
+    @Test
+    @DisplayName("getPeriodSummaries - Con granularidad 'day', debería usar la agregación diaria")
+    void getPeriodSummaries_withDay_shouldUseDailyQuery() {
+        when(accreditationRepository.summarizeByDay(any(), any())).thenReturn(List.of());
+
+        ResponseEntity<List<PeriodSummaryDTO>> response = statisticsService.getPeriodSummaries(from, to, "day");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(accreditationRepository).summarizeByDay(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("getPeriodSummaries - Con granularidad inválida, debería lanzar AccreditationException BAD_REQUEST")
+    void getPeriodSummaries_withInvalidGranularity_shouldThrowBadRequest() {
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> statisticsService.getPeriodSummaries(from, to, "week"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertEquals(Constants.INVALID_GRANULARITY + "week", exception.getMessage());
+        verifyNoInteractions(accreditationRepository);
+    }
+
+    @Test
+    @DisplayName("getSalePointSummaries - Con 'from' posterior a 'to', debería lanzar AccreditationException BAD_REQUEST")
+    void getSalePointSummaries_withInvertedRange_shouldThrowBadRequest() {
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> statisticsService.getSalePointSummaries(to, from));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verifyNoInteractions(accreditationRepository);
+    }
+}
@@ -0,0 +1,50 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.repositories.AccreditationVersionRepository;
+import com.accreditations_service.accreditations_service.services.implementations.AccreditationVersionServiceImplementation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccreditationVersionServiceImplementationTest {
+
+    @Mock
+    private AccreditationVersionRepository accreditationVersionRepository;
+
+    @InjectMocks
+    private AccreditationVersionServiceImplementation accreditationVersionService;
+
+    @Test
+    @DisplayName("recordChange - Debería incrementar cada usuario una vez, en orden, y luego un único slot global")
+    void recordChange_shouldBumpDistinctUsersInOrderThenOneSlot() {
+        accreditationVersionService.recordChange(Arrays.asList(7L, 3L, null, 7L));
+
+        InOrder inOrder = inOrder(accreditationVersionRepository);
+        inOrder.verify(accreditationVersionRepository).bumpUser(3L);
+        inOrder.verify(accreditationVersionRepository).bumpUser(7L);
+        inOrder.verify(accreditationVersionRepository).bump(anyShort());
+        verify(accreditationVersionRepository, times(2)).bumpUser(anyLong());
+    }
+
+    @Test
+    @DisplayName("getUserVersion - Sin contador para el usuario, debería devolver 0")
+    void getUserVersion_withoutCounter_shouldReturnZero() {
+        when(accreditationVersionRepository.findUserVersion(1L)).thenReturn(Optional.empty());
+        when(accreditationVersionRepository.findUserVersion(2L)).thenReturn(Optional.of(5L));
+
+        assertEquals(0L, accreditationVersionService.getUserVersion(1L));
+        assertEquals(5L, accreditationVersionService.getUserVersion(2L));
+    }
+}
@@ -0,0 +1,204 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.dtos.AccreditationDTO;
+import com.accreditations_service.accreditations_service.dtos.CreateAccreditationRequest;
+import com.accreditations_service.accreditations_service.exceptions.AccreditationException;
+import com.accreditations_service.accreditations_service.exceptions.SalePointException;
+import com.accreditations_service.accreditations_service.models.IdempotencyKey;
+import com.accreditations_service.accreditations_service.models.IdempotencyKeyId;
+import com.accreditations_service.accreditations_service.repositories.AccreditationRepository;
+import com.accreditations_service.accreditations_service.repositories.IdempotencyKeyRepository;
+import com.accreditations_service.accreditations_service.services.implementations.IdempotencyServiceImplementation;
+import com.accreditations_service.accreditations_service.utils.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplementationTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String KEY = "retry-key-1";
+    private static final CreateAccreditationRequest REQUEST = new CreateAccreditationRequest(100L, 150.75, LocalDateTime.of(2025, 5, 10, 12, 0));
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private AccreditationRepository accreditationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyServiceImplementation idempotencyService;
+
+    private AccreditationDTO accreditationDTO;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImplementation(idempotencyKeyRepository, accreditationRepository,
+                transactionManager, Duration.ofHours(24), 100, Duration.ofSeconds(5));
+        accreditationDTO = new AccreditationDTO(5L, 100L, USER_ID, "Punto", 15075L, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("createAccreditationOnce - Un reintento con la misma clave debería devolver la acreditación sin repetir la creación")
+    void createAccreditationOnce_whenRetried_shouldReplayWithoutCreatingAgain() {
+        when(idempotencyKeyRepository.claim(eq(USER_ID), eq(KEY), anyString(), any(LocalDateTime.class))).thenReturn(1);
+        AtomicInteger creations = new AtomicInteger();
+        Supplier<ResponseEntity<AccreditationDTO>> creation = () -> {
+            creations.incrementAndGet();
+            return new ResponseEntity<>(accreditationDTO, HttpStatus.CREATED);
+        };
+
+        ResponseEntity<AccreditationDTO> first = idempotencyService.createAccreditationOnce(USER_ID, KEY, REQUEST, creation);
+        ResponseEntity<AccreditationDTO> retry = idempotencyService.createAccreditationOnce(USER_ID, KEY, REQUEST, creation);
+
+        assertEquals(1, creations.get());
+        assertNull(first.getHeaders().getFirst(Constants.IDEMPOTENT_REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals("true", retry.getHeaders().getFirst(Constants.IDEMPOTENT_REPLAYED_HEADER));
+        assertEquals(accreditationDTO, retry.getBody());
+        verify(idempotencyKeyRepository, times(1)).claim(eq(USER_ID), eq(KEY), anyString(), any(LocalDateTime.class));
+        verify(idempotencyKeyRepository, times(1)).complete(new IdempotencyKeyId(USER_ID, KEY), accreditationDTO.id());
+    }
+
+    @Test
+    @DisplayName("createAccreditationOnce - Si la clave ya está registrada en la base, debería devolver la acreditación guardada")
+    void createAccreditationOnce_whenKeyAlreadyStored_shouldReplayStoredAccreditation() {
+        IdempotencyKeyId keyId = new IdempotencyKeyId(USER_ID, KEY);
+        AtomicReference<String> claimedHash = new AtomicReference<>();
+        when(idempotencyKeyRepository.claim(eq(USER_ID), eq(KEY), anyString(), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            claimedHash.set(invocation.getArgument(2));
+            return 0;
+        });
+        when(idempotencyKeyRepository.findById(keyId))
+                .thenAnswer(invocation -> Optional.of(new IdempotencyKey(keyId, 5L, claimedHash.get(), LocalDateTime.now())));
+        when(accreditationRepository.findDTOById(5L)).thenReturn(Optional.of(accreditationDTO));
+
+        ResponseEntity<AccreditationDTO> response = idempotencyService.createAccreditationOnce(USER_ID, KEY, REQUEST,
+                () -> fail("No debería volver a crear la acreditación"));
+
+        assertEquals(accreditationDTO, response.getBody());
+        assertEquals("true", response.getHeaders().getFirst(Constants.IDEMPOTENT_REPLAYED_HEADER));
+        verify(idempotencyKeyRepository, never()).complete(any(), any());
+    }
+
+    @Test
+    @DisplayName("createAccreditationOnce - Si la clave guardada se usó con otro cuerpo, debería lanzar AccreditationException UNPROCESSABLE_ENTITY")
+    void createAccreditationOnce_whenStoredKeyHasDifferentRequest_shouldThrowUnprocessableEntity() {
+        IdempotencyKeyId keyId = new IdempotencyKeyId(USER_ID, KEY);
+        when(idempotencyKeyRepository.claim(eq(USER_ID), eq(KEY), anyString(), any(LocalDateTime.class))).thenReturn(0);
+        when(idempotencyKeyRepository.findById(keyId))
+                .thenReturn(Optional.of(new IdempotencyKey(keyId, 5L, "0".repeat(64), LocalDateTime.now())));
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> idempotencyService.createAccreditationOnce(USER_ID, KEY, REQUEST, () -> fail("No debería crear")));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getHttpStatus());
+        assertEquals(Constants.IDEMPOTENCY_KEY_REUSED, exception.getMessage());
+        verify(accreditationRepository, never()).findDTOById(any());
+    }
+
+    @Test
+    @DisplayName("createAccreditationOnce - Un reintento con la misma clave y otro cuerpo debería lanzar AccreditationException UNPROCESSABLE_ENTITY")
+    void createAccreditationOnce_whenRetriedWithDifferentRequest_shouldThrowUnprocessableEntity() {
+        when(idempotencyKeyRepository.claim(eq(USER_ID), eq(KEY), anyString(), any(LocalDateTime.class))).thenReturn(1);
+        idempotencyService.createAccreditationOnce(USER_ID, KEY, REQUEST, () -> new ResponseEntity<>(accreditationDTO, HttpStatus.CREATED));
+        CreateAccreditationRequest otherAmount = new CreateAccreditationRequest(REQUEST.salePointId(), 999.99, REQUEST.receiptDate());
+
+        AccreditationException exception = assertThrows(AccreditationException.class,
+                () -> idempotencyService.createAccreditationOnce(USER_ID, KEY, otherAmount, () -> fail("No debería crear")));
+        ResponseEntity<AccreditationDTO> sameBody = idempotencyService.createAccreditationOnce(USER_ID, KEY,
+                new CreateAccreditationRequest(REQUEST.salePointId(), REQUEST.amount(), REQUEST.receiptDate()), () -> fail("No debería crear"));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getHttpStatus());
+        assertEquals("true", sameBody.getHeaders().getFirst(Constants.IDEMPOTENT_REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("createAccreditationOnce - Un duplicado concurrente debería esperar al primer intento en curso")
+    void createAccreditationOnce_withConcurrentDuplicate_shouldWaitForFirstAttempt() throws Exception {
+        when(idempotencyKeyRepository.claim(eq(USER_ID), eq(KEY), anyString(), any(LocalDateTime.class))).thenReturn(1);
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger creations = new AtomicInteger();
+        Supplier<ResponseEntity<AccreditationDTO>> creation = () -> {
+            creations.incrementAndGet();
+            creating.countDown();
+            awaitQuietly(release);
+            return new ResponseEntity<>(accreditationDTO, HttpStatus.CREATED);
+        };
+
+        CompletableFuture<ResponseEntity<AccreditationDTO>> first =
+                CompletableFuture.supplyAsync(() -> idempotencyService.createAccreditationOnce(USER_ID, KEY, REQUEST, creation));
+        assertTrue(creating.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ResponseEntity<AccreditationDTO>> duplicate =
+                CompletableFuture.supplyAsync(() -> idempotencyService.createAccreditationOnce(USER_ID, KEY, REQUEST, creation));
+        release.countDown();
+
+        assertEquals(accreditationDTO, first.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(accreditationDTO, duplicate.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, creations.get());
+    }
+
+    @Test
+    @DisplayName("createAccreditationOnce - Un intento fallido no debería quedar registrado y el reintento debería crear")
+    void createAccreditationOnce_whenFirstAttemptFails_shouldAllowRetry() {
+        when(idempotencyKeyRepository.claim(eq(USER_ID), eq(KEY), anyString(), any(LocalDateTime.class))).thenReturn(1);
+        SalePointException salePointException = new SalePointException("Error SP", HttpStatus.SERVICE_UNAVAILABLE);
+
+        assertThrows(SalePointException.class, () -> idempotencyService.createAccreditationOnce(USER_ID, KEY, REQUEST, () -> {
+            throw salePointException;
+        }));
+        ResponseEntity<AccreditationDTO> retry = idempotencyService.createAccreditationOnce(USER_ID, KEY, REQUEST,
+                () -> new ResponseEntity<>(accreditationDTO, HttpStatus.CREATED));
+
+        assertEquals(accreditationDTO, retry.getBody());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(idempotencyKeyRepository, times(2)).claim(eq(USER_ID), eq(KEY), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("createAccreditationOnce - Con una clave vacía o demasiado larga, debería lanzar AccreditationException BAD_REQUEST")
+    void createAccreditationOnce_withInvalidKey_shouldThrowBadRequest() {
+        AccreditationException blank = assertThrows(AccreditationException.class,
+                () -> idempotencyService.createAccreditationOnce(USER_ID, " ", REQUEST, () -> fail("No debería crear")));
+        AccreditationException tooLong = assertThrows(AccreditationException.class,
+                () -> idempotencyService.createAccreditationOnce(USER_ID, "k".repeat(256), REQUEST, () -> fail("No debería crear")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, blank.getHttpStatus());
+        assertEquals(Constants.INVALID_IDEMPOTENCY_KEY, tooLong.getMessage());
+        verify(idempotencyKeyRepository, never()).claim(any(), anyString(), any(), any());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.services.implementations.ReadYourWritesServiceImplementation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesServiceImplementationTest {
+
+    @Test
+    @DisplayName("isRecentWriter - Debería ser true solo para usuarios que escribieron dentro de la ventana")
+    void isRecentWriter_shouldTrackUsersWithinWindow() {
+        ReadYourWritesServiceImplementation readYourWritesService = new ReadYourWritesServiceImplementation(Duration.ofMinutes(1));
+
+        readYourWritesService.recordWrite(1L);
+
+        assertTrue(readYourWritesService.isRecentWriter(1L));
+        assertFalse(readYourWritesService.isRecentWriter(2L));
+    }
+
+    @Test
+    @DisplayName("isRecentWriter - Debería olvidar al usuario al expirar la ventana")
+    void isRecentWriter_afterWindow_shouldBeFalse() throws InterruptedException {
+        ReadYourWritesServiceImplementation readYourWritesService = new ReadYourWritesServiceImplementation(Duration.ofMillis(50));
+
+        readYourWritesService.recordWrite(1L);
+        Thread.sleep(150);
+
+        assertFalse(readYourWritesService.isRecentWriter(1L));
+    }
+}
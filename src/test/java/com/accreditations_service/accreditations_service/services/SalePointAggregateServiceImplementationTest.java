@@ -0,0 +1,147 @@
+package com.accreditations_service.accreditations_service.services;
+
+import com.accreditations_service.accreditations_service.dtos.SalePointSummaryDTO;
+import com.accreditations_service.accreditations_service.repositories.AccreditationArchiveRepository;
+import com.accreditations_service.accreditations_service.repositories.AccreditationRepository;
+import com.accreditations_service.accreditations_service.services.implementations.SalePointAggregateServiceImplementation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalePointAggregateServiceImplementationTest {
+
+    @Mock
+    private AccreditationRepository accreditationRepository;
+
+    @Mock
+    private AccreditationArchiveRepository accreditationArchiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SalePointAggregateServiceImplementation aggregateService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("afterSingletonsInstantiated - Debería cargar los totales iniciales con una sola consulta")
+    void afterSingletonsInstantiated_shouldBootstrapFromGroupBy() {
+        when(accreditationRepository.summarizeAllBySalePoint())
+                .thenReturn(List.of(new SalePointSummaryDTO(100L, 2L, 30000L, 10000L, 20000L)));
+
+        aggregateService.afterSingletonsInstantiated();
+        aggregateService.recordAccreditation(100L, 5000L);
+        ResponseEntity<List<SalePointSummaryDTO>> response = aggregateService.getLiveSalePointSummaries();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertThat(response.getBody()).containsExactly(new SalePointSummaryDTO(100L, 3L, 35000L, 5000L, 20000L));
+        verify(accreditationRepository, times(1)).summarizeAllBySalePoint();
+    }
+
+    @Test
+    @DisplayName("afterSingletonsInstantiated - Las acreditaciones archivadas deberían seguir sumando en los totales")
+    void afterSingletonsInstantiated_shouldIncludeArchivedAccreditations() {
+        when(accreditationRepository.summarizeAllBySalePoint())
+                .thenReturn(List.of(new SalePointSummaryDTO(100L, 2L, 30000L, 10000L, 20000L)));
+        when(accreditationArchiveRepository.summarizeAllBySalePoint())
+                .thenReturn(List.of(new SalePointSummaryDTO(100L, 1L, 2500L, 2500L, 2500L),
+                        new SalePointSummaryDTO(101L, 1L, 7000L, 7000L, 7000L)));
+
+        aggregateService.afterSingletonsInstantiated();
+        ResponseEntity<List<SalePointSummaryDTO>> response = aggregateService.getLiveSalePointSummaries();
+
+        assertThat(response.getBody()).containsExactly(
+                new SalePointSummaryDTO(100L, 3L, 32500L, 2500L, 20000L),
+                new SalePointSummaryDTO(101L, 1L, 7000L, 7000L, 7000L));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("getLiveSalePointSummaries - No debería consultar la base de datos")
+    void getLiveSalePointSummaries_shouldNotQueryDatabase() {
+        aggregateService.recordAccreditation(101L, 1000L);
+        aggregateService.recordAccreditation(100L, 2000L);
+
+        List<SalePointSummaryDTO> summaries = aggregateService.getLiveSalePointSummaries().getBody();
+
+        assertThat(summaries).extracting(SalePointSummaryDTO::salePointId).containsExactly(100L, 101L);
+        verifyNoInteractions(accreditationRepository);
+    }
+
+    @Test
+    @DisplayName("recordAccreditation - Dentro de una transacción, solo debería contar tras el commit")
+    void recordAccreditation_insideTransaction_shouldCountAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        aggregateService.recordAccreditation(100L, 1000L);
+        assertThat(aggregateService.getLiveSalePointSummaries().getBody()).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(aggregateService.getLiveSalePointSummaries().getBody())
+                .containsExactly(new SalePointSummaryDTO(100L, 1L, 1000L, 1000L, 1000L));
+    }
+
+    @Test
+    @DisplayName("recordAccreditation - Con 64 escritores concurrentes, no debería perder actualizaciones")
+    void recordAccreditation_withConcurrentWriters_shouldNotLoseUpdates() throws Exception {
+        int writers = 64;
+        int updatesPerWriter = 10_000;
+        int salePoints = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < updatesPerWriter; i++) {
+                        aggregateService.recordAccreditation((long) (i % salePoints), 100L);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<SalePointSummaryDTO> summaries = aggregateService.getLiveSalePointSummaries().getBody();
+        long expectedPerSalePoint = (long) writers * updatesPerWriter / salePoints;
+        assertThat(summaries).hasSize(salePoints);
+        assertThat(summaries).allSatisfy(summary -> {
+            assertEquals(expectedPerSalePoint, summary.count());
+            assertEquals(expectedPerSalePoint * 100L, summary.totalCents());
+        });
+    }
+}